@@ -0,0 +1,15 @@
+package com.foodapp.activity;
+
+/**
+ * Values of activity_logs.action.
+ */
+public final class ActivityActions {
+    
+    public static final String LOGIN = "LOGIN";
+    public static final String ORDER_CREATED = "ORDER_CREATED";
+    public static final String ORDER_STATUS_CHANGED = "ORDER_STATUS_CHANGED";
+    public static final String ORDER_CANCELLED = "ORDER_CANCELLED";
+    
+    private ActivityActions() {
+    }
+}
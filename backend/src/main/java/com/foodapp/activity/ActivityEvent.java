@@ -0,0 +1,10 @@
+package com.foodapp.activity;
+
+import java.time.OffsetDateTime;
+
+/**
+ * An activity_logs row waiting to be written.
+ */
+public record ActivityEvent(Long userId, String action, String description, String ipAddress,
+                            OffsetDateTime createdAt) {
+}
@@ -0,0 +1,60 @@
+package com.foodapp.activity;
+
+import com.foodapp.repository.ActivityLogJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+
+/**
+ * Keeps the monthly activity_logs partitions rolling: creates the next few months ahead of
+ * time (an insert with no matching partition fails) and drops whole partitions once they
+ * fall out of the retention window, which is far cheaper than DELETE on a large table.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.activity-log.partition-maintenance.enabled", havingValue = "true", matchIfMissing = true)
+public class ActivityLogPartitionMaintainer {
+    
+    private final ActivityLogJdbcRepository activityLogJdbcRepository;
+    
+    @Value("${app.activity-log.retention-months:12}")
+    private int retentionMonths;
+    
+    @Value("${app.activity-log.partitions-ahead:3}")
+    private int partitionsAhead;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        maintain();
+    }
+    
+    @Scheduled(cron = "${app.activity-log.partition-cron:0 15 3 * * *}", zone = "UTC")
+    public void maintain() {
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        try {
+            for (int i = 0; i <= partitionsAhead; i++) {
+                activityLogJdbcRepository.createPartition(current.plusMonths(i));
+            }
+            // Keep the current month plus retentionMonths full months before it
+            YearMonth oldestKept = current.minusMonths(retentionMonths);
+            for (String name : activityLogJdbcRepository.findPartitionNames()) {
+                YearMonth month = ActivityLogJdbcRepository.partitionMonth(name);
+                if (month.isBefore(oldestKept)) {
+                    activityLogJdbcRepository.dropPartition(month);
+                    log.info("Dropped expired activity log partition {}", name);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Activity log partition maintenance failed", e);
+        }
+    }
+}
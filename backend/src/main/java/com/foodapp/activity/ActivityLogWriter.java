@@ -0,0 +1,178 @@
+package com.foodapp.activity;
+
+import com.foodapp.repository.ActivityLogJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes activity_logs off the request path.
+ * Callers enqueue into a bounded lock-free ring buffer; a single drain thread writes the
+ * events in JDBC batches. When the buffer is full a caller waits up to offer-timeout for
+ * space (backpressure) and then drops the event, counted in activity.log.dropped. A failed
+ * batch is retried up to insert-attempts times before its events count as activity.log.failed.
+ * Pending events are written on shutdown.
+ */
+@Slf4j
+@Component
+public class ActivityLogWriter {
+    
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long RETRY_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    
+    private final ActivityLogJdbcRepository activityLogJdbcRepository;
+    private final MpmcRingBuffer<ActivityEvent> buffer;
+    private final int batchSize;
+    private final int insertAttempts;
+    private final long offerTimeoutNanos;
+    private final Counter dropped;
+    private final Counter written;
+    private final Counter failed;
+    private volatile boolean running;
+    private Thread drainThread;
+    
+    public ActivityLogWriter(ActivityLogJdbcRepository activityLogJdbcRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.activity-log.buffer-capacity:8192}") int bufferCapacity,
+                             @Value("${app.activity-log.batch-size:500}") int batchSize,
+                             @Value("${app.activity-log.offer-timeout-ms:1}") long offerTimeoutMs,
+                             @Value("${app.activity-log.insert-attempts:3}") int insertAttempts) {
+        this.activityLogJdbcRepository = activityLogJdbcRepository;
+        this.buffer = new MpmcRingBuffer<>(bufferCapacity);
+        this.batchSize = batchSize;
+        this.insertAttempts = Math.max(1, insertAttempts);
+        this.offerTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(offerTimeoutMs);
+        this.dropped = Counter.builder("activity.log.dropped")
+                .description("Activity events dropped because the buffer stayed full")
+                .register(meterRegistry);
+        this.written = Counter.builder("activity.log.written").register(meterRegistry);
+        this.failed = Counter.builder("activity.log.failed")
+                .description("Activity events lost to batch inserts that failed every attempt")
+                .register(meterRegistry);
+        Gauge.builder("activity.log.buffer.size", buffer, MpmcRingBuffer::size).register(meterRegistry);
+    }
+    
+    @PostConstruct
+    void start() {
+        running = true;
+        drainThread = new Thread(this::drainLoop, "activity-log-writer");
+        drainThread.setDaemon(true);
+        drainThread.start();
+    }
+    
+    /**
+     * Records an action by a user. Inside a transaction the event is only enqueued once it
+     * commits, so rolled back work is never logged. The client IP is taken from the current
+     * request, if any.
+     */
+    public void log(Long userId, String action, String description) {
+        ActivityEvent event = new ActivityEvent(userId, action, description, clientIp(), OffsetDateTime.now());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(event);
+                }
+            });
+        } else {
+            enqueue(event);
+        }
+    }
+    
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(drainThread);
+        drainThread.join(TimeUnit.SECONDS.toMillis(10));
+        // Anything enqueued after the drain thread's last pass
+        while (drainBatch() > 0) {
+            // keep draining
+        }
+    }
+    
+    private void enqueue(ActivityEvent event) {
+        if (buffer.offer(event)) {
+            return;
+        }
+        // Full: give the drain thread a moment before giving up on the event
+        LockSupport.unpark(drainThread);
+        long deadline = System.nanoTime() + offerTimeoutNanos;
+        while (System.nanoTime() < deadline) {
+            LockSupport.parkNanos(FULL_PARK_NANOS);
+            if (buffer.offer(event)) {
+                return;
+            }
+        }
+        dropped.increment();
+    }
+    
+    private void drainLoop() {
+        while (running) {
+            try {
+                if (drainBatch() == 0) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            } catch (RuntimeException e) {
+                log.error("Activity log drain failed", e);
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+    
+    private int drainBatch() {
+        List<ActivityEvent> batch = new ArrayList<>(Math.min(batchSize, buffer.size() + 1));
+        ActivityEvent event;
+        while (batch.size() < batchSize && (event = buffer.poll()) != null) {
+            batch.add(event);
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                activityLogJdbcRepository.insertAll(batch);
+                written.increment(batch.size());
+                return batch.size();
+            } catch (RuntimeException e) {
+                if (attempt >= insertAttempts) {
+                    failed.increment(batch.size());
+                    log.warn("Dropped {} activity log event(s) after {} attempts: {}", batch.size(), attempt, e.getMessage());
+                    return batch.size();
+                }
+                log.warn("Activity log insert failed (attempt {}/{}), retrying: {}", attempt, insertAttempts, e.getMessage());
+                // Meanwhile the buffer takes new events; callers only drop once it is full
+                LockSupport.parkNanos(RETRY_BACKOFF_NANOS * attempt);
+            }
+        }
+    }
+    
+    private static String clientIp() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return null;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        String forwarded = request.getHeader("X-Forwarded-For");
+        String ip = forwarded != null && !forwarded.isBlank()
+                ? forwarded.split(",")[0].trim()
+                : request.getRemoteAddr();
+        // Column is VARCHAR(45), the longest textual IPv6 form
+        return ip != null && ip.length() > 45 ? ip.substring(0, 45) : ip;
+    }
+}
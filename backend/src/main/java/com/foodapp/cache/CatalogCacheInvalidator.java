@@ -0,0 +1,65 @@
+package com.foodapp.cache;
+
+import com.foodapp.event.CategoryChangedEvent;
+import com.foodapp.event.FoodItemChangedEvent;
+import com.foodapp.event.ShopChangedEvent;
+import com.foodapp.event.ShopRatingChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts catalog cache entries once a catalog write has committed.
+ * Evicting after commit avoids re-caching the old rows from a concurrent read.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogCacheInvalidator {
+    
+    private final CacheManager cacheManager;
+    
+    @TransactionalEventListener
+    public void onFoodItemChanged(FoodItemChangedEvent event) {
+        evict(CatalogCacheNames.SHOP_FOOD_ITEMS, event.getShopId());
+    }
+    
+    @TransactionalEventListener
+    public void onShopChanged(ShopChangedEvent event) {
+        // Shop name is denormalized into FoodItemResponse, so the shop's menu goes too
+        clear(CatalogCacheNames.ACTIVE_SHOPS);
+        evict(CatalogCacheNames.SHOP_FOOD_ITEMS, event.getShopId());
+    }
+    
+    @TransactionalEventListener
+    public void onShopRatingChanged(ShopRatingChangedEvent event) {
+        clear(CatalogCacheNames.ACTIVE_SHOPS);
+    }
+    
+    @TransactionalEventListener
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        // Category names appear in every menu and shop response
+        clear(CatalogCacheNames.CATEGORIES);
+        clear(CatalogCacheNames.ACTIVE_SHOPS);
+        clear(CatalogCacheNames.SHOP_FOOD_ITEMS);
+    }
+    
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null) {
+            cache.evict(key);
+            log.debug("Evicted {}[{}]", cacheName, key);
+        }
+    }
+    
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+            log.debug("Cleared {}", cacheName);
+        }
+    }
+}
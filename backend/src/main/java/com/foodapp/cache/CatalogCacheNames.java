@@ -0,0 +1,19 @@
+package com.foodapp.cache;
+
+/**
+ * Cache names for the catalog read path. Must match spring.cache.cache-names.
+ */
+public final class CatalogCacheNames {
+    
+    /** ShopService#getActiveShops, single entry */
+    public static final String ACTIVE_SHOPS = "activeShops";
+    
+    /** CategoryService#getAllCategories, single entry */
+    public static final String CATEGORIES = "categories";
+    
+    /** FoodItemService#getFoodItemsByShop, keyed by shop id */
+    public static final String SHOP_FOOD_ITEMS = "shopFoodItems";
+    
+    private CatalogCacheNames() {
+    }
+}
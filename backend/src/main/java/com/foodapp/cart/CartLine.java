@@ -0,0 +1,123 @@
+package com.foodapp.cart;
+
+import com.foodapp.dto.response.CartItemResponse;
+import com.foodapp.dto.response.FoodItemResponse;
+import com.foodapp.repository.CartJdbcRepository;
+
+import java.time.OffsetDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One cart row held in memory. The id and key are fixed for the line's lifetime;
+ * quantity 0 means removed and is deleted from the table on the next flush. Once that delete
+ * has committed the line is discarded and dropped from its cart; a writer still holding it
+ * sees the discard and looks the line up again.
+ */
+class CartLine {
+    
+    private static final int DISCARDED = -1;
+    
+    final Long id;
+    final Long userId;
+    final Long shopId;
+    final Long foodItemId;
+    final OffsetDateTime createdAt;
+    private final AtomicInteger quantity;
+    // Display fields, refreshed whenever the line is added to
+    private volatile FoodItemResponse food;
+    
+    CartLine(Long id, Long userId, FoodItemResponse food, int quantity, OffsetDateTime createdAt) {
+        this.id = id;
+        this.userId = userId;
+        this.shopId = food.getShopId();
+        this.foodItemId = food.getId();
+        this.createdAt = createdAt;
+        this.quantity = new AtomicInteger(quantity);
+        this.food = food;
+    }
+    
+    static CartLine of(CartItemResponse item) {
+        FoodItemResponse food = FoodItemResponse.builder()
+                .id(item.getFoodItemId())
+                .shopId(item.getShopId())
+                .shopName(item.getShopName())
+                .foodName(item.getFoodName())
+                .image(item.getFoodImage())
+                .price(item.getFoodPrice())
+                .discountPrice(item.getDiscountPrice())
+                .build();
+        return new CartLine(item.getId(), item.getUserId(), food, item.getQuantity(), item.getCreatedAt());
+    }
+    
+    int quantity() {
+        return quantity.get();
+    }
+    
+    boolean isRemoved() {
+        return quantity.get() <= 0;
+    }
+    
+    /**
+     * Returns false if the line was discarded and the change did not apply.
+     */
+    boolean add(int delta) {
+        while (true) {
+            int current = quantity.get();
+            if (current == DISCARDED) {
+                return false;
+            }
+            if (quantity.compareAndSet(current, Math.max(0, current + delta))) {
+                return true;
+            }
+        }
+    }
+    
+    /**
+     * Returns false if the line was discarded and the change did not apply.
+     */
+    boolean set(int value) {
+        while (true) {
+            int current = quantity.get();
+            if (current == DISCARDED) {
+                return false;
+            }
+            if (quantity.compareAndSet(current, Math.max(0, value))) {
+                return true;
+            }
+        }
+    }
+    
+    /**
+     * Discards a removed line; fails if it was changed since.
+     */
+    boolean discard() {
+        return quantity.compareAndSet(0, DISCARDED);
+    }
+    
+    void refresh(FoodItemResponse food) {
+        this.food = food;
+    }
+    
+    CartJdbcRepository.Row toRow(int quantity) {
+        return new CartJdbcRepository.Row(id, userId, shopId, foodItemId, quantity, createdAt);
+    }
+    
+    CartItemResponse toResponse() {
+        FoodItemResponse snapshot = food;
+        int current = quantity.get();
+        return CartItemResponse.builder()
+                .id(id)
+                .userId(userId)
+                .shopId(shopId)
+                .shopName(snapshot.getShopName())
+                .foodItemId(foodItemId)
+                .foodName(snapshot.getFoodName())
+                .foodImage(snapshot.getImage())
+                .foodPrice(snapshot.getPrice())
+                .discountPrice(snapshot.getDiscountPrice())
+                .quantity(current)
+                .subtotal(CartItemResponse.subtotal(snapshot.getPrice(), snapshot.getDiscountPrice(), current))
+                .createdAt(createdAt)
+                .build();
+    }
+}
@@ -0,0 +1,60 @@
+package com.foodapp.cart;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A user's in-memory cart: lines keyed by food item (a food item belongs to exactly one shop).
+ * Writers register in inFlight so the flusher can retire an idle cart without locking them:
+ * once retired (-1) no writer gets in and the store reloads the cart from the table.
+ */
+class UserCart {
+    
+    final Long userId;
+    final Map<Long, CartLine> lines = new ConcurrentHashMap<>();
+    final AtomicBoolean dirty = new AtomicBoolean();
+    // Serializes flushes of this cart so an older snapshot never overwrites a newer one
+    final ReentrantLock flushLock = new ReentrantLock();
+    // Completed flushes, guarded by flushLock
+    long flushes;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    volatile boolean userVerified;
+    volatile long lastAccessMs = System.currentTimeMillis();
+    
+    UserCart(Long userId) {
+        this.userId = userId;
+    }
+    
+    boolean enter() {
+        while (true) {
+            int current = inFlight.get();
+            if (current < 0) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                lastAccessMs = System.currentTimeMillis();
+                return true;
+            }
+        }
+    }
+    
+    void exit() {
+        inFlight.decrementAndGet();
+    }
+    
+    boolean tryRetire() {
+        return !dirty.get() && inFlight.compareAndSet(0, -1);
+    }
+    
+    CartLine findLine(Long cartId) {
+        for (CartLine line : lines.values()) {
+            if (line.id.equals(cartId)) {
+                return line;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,402 @@
+package com.foodapp.cart;
+
+import com.foodapp.dto.request.CartOperationRequest;
+import com.foodapp.dto.response.CartItemResponse;
+import com.foodapp.dto.response.FoodItemResponse;
+import com.foodapp.repository.CartJdbcRepository;
+import com.foodapp.repository.UserRepository;
+import com.foodapp.service.FoodItemService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind cart store, enabled with app.cart.write-behind.enabled.
+ * Active carts live in memory keyed by user. Quantity changes are CAS updates on the line
+ * and only mark the cart dirty; dirty carts are written to the cart table in batches on a
+ * schedule, before checkout reads the table and on shutdown. A cart that is not in memory
+ * (first use, after a restart or after idle eviction) is loaded from the table on demand.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.cart.write-behind.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class WriteBehindCartStore {
+    
+    private static final int ID_BLOCK_SIZE = 50;
+    
+    private final CartJdbcRepository cartJdbcRepository;
+    private final UserRepository userRepository;
+    private final FoodItemService foodItemService;
+    
+    @Value("${app.cart.write-behind.idle-eviction-ms:900000}")
+    private long idleEvictionMs;
+    
+    private final Map<Long, UserCart> carts = new ConcurrentHashMap<>();
+    // cart row id -> user id, so PUT/DELETE /cart/{cartId} can find the owning cart
+    private final Map<Long, Long> lineOwners = new ConcurrentHashMap<>();
+    private final Set<UserCart> dirtyCarts = ConcurrentHashMap.newKeySet();
+    private final Queue<Long> reservedIds = new ConcurrentLinkedQueue<>();
+    
+    public List<CartItemResponse> getCart(Long userId) {
+        return snapshot(cartOf(userId), line -> true);
+    }
+    
+    public List<CartItemResponse> getCart(Long userId, Long shopId) {
+        return snapshot(cartOf(userId), line -> line.shopId.equals(shopId));
+    }
+    
+    public CartItemResponse add(Long userId, Long shopId, Long foodItemId, int quantity) {
+        FoodItemResponse food = findFood(shopId, foodItemId);
+        return mutate(userId, cart -> {
+            verifyUser(cart);
+            return addLine(cart, food, quantity).toResponse();
+        });
+    }
+    
+    /**
+     * Applies a PATCH batch to the in-memory cart. Every referenced line is checked before the
+     * first change, so a bad entry leaves the cart untouched.
+     */
+    public List<CartItemResponse> apply(Long userId, List<CartOperationRequest> operations) {
+        Map<Long, FoodItemResponse> foods = new HashMap<>();
+        for (CartOperationRequest op : operations) {
+            if (CartOperationRequest.ADD.equals(op.getType())) {
+                foods.put(op.getFoodItemId(), findFood(op.getShopId(), op.getFoodItemId()));
+            }
+        }
+        
+        UserCart applied = mutate(userId, cart -> {
+            verifyUser(cart);
+            for (CartOperationRequest op : operations) {
+                if (!CartOperationRequest.ADD.equals(op.getType()) && cart.findLine(op.getCartId()) == null) {
+                    throw new RuntimeException("Cart item not found");
+                }
+            }
+            for (CartOperationRequest op : operations) {
+                switch (op.effectiveType()) {
+                    case CartOperationRequest.ADD -> addLine(cart, foods.get(op.getFoodItemId()), op.getQuantity());
+                    case CartOperationRequest.SET -> cart.findLine(op.getCartId()).set(op.getQuantity());
+                    default -> cart.findLine(op.getCartId()).set(0);
+                }
+            }
+            return cart;
+        });
+        return snapshot(applied, line -> true);
+    }
+    
+    /**
+     * Sets a line's quantity; 0 or less removes it and returns null.
+     */
+    public CartItemResponse setQuantity(Long cartId, int quantity) {
+        return mutate(ownerOf(cartId), cart -> {
+            CartLine line = cart.findLine(cartId);
+            if (line == null || line.isRemoved() || !line.set(quantity)) {
+                throw new RuntimeException("Cart item not found");
+            }
+            return quantity > 0 ? line.toResponse() : null;
+        });
+    }
+    
+    public void remove(Long cartId) {
+        setQuantity(cartId, 0);
+    }
+    
+    public void clear(Long userId) {
+        mutate(userId, cart -> {
+            cart.lines.values().forEach(line -> line.set(0));
+            return null;
+        });
+    }
+    
+    public void clearShop(Long userId, Long shopId) {
+        mutate(userId, cart -> {
+            cart.lines.values().stream()
+                    .filter(line -> line.shopId.equals(shopId))
+                    .forEach(line -> line.set(0));
+            return null;
+        });
+    }
+    
+    /**
+     * Checkout takes the ordered quantities (cart row id -> quantity) off the rows in its own
+     * transaction; the in-memory lines follow only once that commits, so a rolled back order
+     * keeps the cart and lines added or raised after checkout read the cart are kept.
+     */
+    public void removeOrderedAfterCommit(Long userId, Map<Long, Integer> ordered) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            removeOrdered(userId, ordered);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                removeOrdered(userId, ordered);
+            }
+        });
+    }
+    
+    private void removeOrdered(Long userId, Map<Long, Integer> ordered) {
+        UserCart cart = carts.get(userId);
+        // Not in memory (or being retired): the next load reads rows that already have the order applied
+        if (cart == null || !cart.enter()) {
+            return;
+        }
+        try {
+            for (Map.Entry<Long, Integer> entry : ordered.entrySet()) {
+                CartLine line = cart.findLine(entry.getKey());
+                if (line != null) {
+                    line.add(-entry.getValue());
+                }
+            }
+            markDirty(cart);
+        } finally {
+            cart.exit();
+        }
+    }
+    
+    /**
+     * Writes the user's pending changes now, e.g. before checkout reads the cart table.
+     */
+    public void flush(Long userId) {
+        UserCart cart = carts.get(userId);
+        if (cart != null) {
+            dirtyCarts.remove(cart);
+            flushCart(cart);
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${app.cart.write-behind.flush-interval-ms:1000}")
+    public void flushDirty() {
+        for (UserCart cart : dirtyCarts) {
+            dirtyCarts.remove(cart);
+            flushCart(cart);
+        }
+        evictIdle();
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        flushDirty();
+        if (!dirtyCarts.isEmpty()) {
+            log.error("Cart store shut down with {} unflushed cart(s)", dirtyCarts.size());
+        }
+    }
+    
+    private FoodItemResponse findFood(Long shopId, Long foodItemId) {
+        return foodItemService.getFoodItemsByShop(shopId).stream()
+                .filter(item -> item.getId().equals(foodItemId))
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException("Food item not found"));
+    }
+    
+    private void verifyUser(UserCart cart) {
+        if (!cart.userVerified) {
+            if (!userRepository.existsById(cart.userId)) {
+                throw new RuntimeException("User not found");
+            }
+            cart.userVerified = true;
+        }
+    }
+    
+    private CartLine addLine(UserCart cart, FoodItemResponse food, int quantity) {
+        while (true) {
+            CartLine line = cart.lines.get(food.getId());
+            if (line == null) {
+                CartLine created = new CartLine(nextId(), cart.userId, food, 0, OffsetDateTime.now());
+                line = cart.lines.putIfAbsent(food.getId(), created);
+                if (line == null) {
+                    line = created;
+                    lineOwners.put(line.id, cart.userId);
+                }
+            }
+            line.refresh(food);
+            if (line.add(quantity)) {
+                return line;
+            }
+            // Discarded by a flush in the meantime; a new line (new row id) takes its place
+            cart.lines.remove(food.getId(), line);
+        }
+    }
+    
+    private <T> T mutate(Long userId, Function<UserCart, T> action) {
+        while (true) {
+            UserCart cart = cartOf(userId);
+            // A retired cart was evicted after its last flush; reload it from the table
+            if (!cart.enter()) {
+                continue;
+            }
+            try {
+                T result = action.apply(cart);
+                markDirty(cart);
+                return result;
+            } finally {
+                cart.exit();
+            }
+        }
+    }
+    
+    private void markDirty(UserCart cart) {
+        if (!cart.dirty.getAndSet(true)) {
+            dirtyCarts.add(cart);
+        }
+    }
+    
+    private void flushCart(UserCart cart) {
+        cart.flushLock.lock();
+        try {
+            // Clearing the flag before reading means a concurrent change either lands in this
+            // snapshot or marks the cart dirty again for the next flush
+            if (!cart.dirty.getAndSet(false)) {
+                return;
+            }
+            List<CartLine> removed = new ArrayList<>();
+            List<CartJdbcRepository.Row> upserts = new ArrayList<>();
+            for (CartLine line : cart.lines.values()) {
+                int quantity = line.quantity();
+                if (quantity > 0) {
+                    upserts.add(line.toRow(quantity));
+                } else {
+                    removed.add(line);
+                }
+            }
+            try {
+                // Deletes first so a re-added line never collides with its own stale row
+                cartJdbcRepository.deleteAllById(removed.stream().map(line -> line.id).toList());
+                cartJdbcRepository.upsertAll(upserts);
+                long flush = ++cart.flushes;
+                // Checkout flushes inside the order transaction; if that rolls back, so does this write
+                if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public void afterCompletion(int status) {
+                            if (status == STATUS_COMMITTED) {
+                                discardRemoved(cart, removed, flush);
+                            } else {
+                                markDirty(cart);
+                            }
+                        }
+                    });
+                } else {
+                    discardRemoved(cart, removed, flush);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Cart flush for user {} failed, will retry: {}", cart.userId, e.getMessage());
+                markDirty(cart);
+            }
+        } finally {
+            cart.flushLock.unlock();
+        }
+    }
+    
+    /**
+     * Drops lines whose delete has committed, so later flushes and lookups stop visiting them.
+     * Skipped if another flush ran after the delete: it may have written the row again.
+     */
+    private void discardRemoved(UserCart cart, List<CartLine> removed, long flush) {
+        if (removed.isEmpty()) {
+            return;
+        }
+        cart.flushLock.lock();
+        try {
+            if (cart.flushes != flush) {
+                return;
+            }
+            for (CartLine line : removed) {
+                if (line.discard()) {
+                    cart.lines.remove(line.foodItemId, line);
+                    lineOwners.remove(line.id, cart.userId);
+                }
+            }
+        } finally {
+            cart.flushLock.unlock();
+        }
+    }
+    
+    private void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleEvictionMs;
+        for (UserCart cart : carts.values()) {
+            if (cart.lastAccessMs > cutoff || !cart.flushLock.tryLock()) {
+                continue;
+            }
+            try {
+                if (cart.tryRetire()) {
+                    carts.remove(cart.userId, cart);
+                    cart.lines.values().forEach(line -> lineOwners.remove(line.id, cart.userId));
+                }
+            } finally {
+                cart.flushLock.unlock();
+            }
+        }
+    }
+    
+    private UserCart cartOf(Long userId) {
+        UserCart cart = carts.get(userId);
+        if (cart != null) {
+            return cart;
+        }
+        UserCart loaded = new UserCart(userId);
+        for (CartItemResponse item : cartJdbcRepository.findItemsByUserId(userId)) {
+            loaded.lines.put(item.getFoodItemId(), CartLine.of(item));
+        }
+        loaded.userVerified = !loaded.lines.isEmpty();
+        
+        UserCart existing = carts.putIfAbsent(userId, loaded);
+        if (existing != null) {
+            return existing;
+        }
+        loaded.lines.values().forEach(line -> lineOwners.put(line.id, userId));
+        return loaded;
+    }
+    
+    private Long ownerOf(Long cartId) {
+        Long userId = lineOwners.get(cartId);
+        if (userId != null) {
+            return userId;
+        }
+        return cartJdbcRepository.findUserIdById(cartId)
+                .orElseThrow(() -> new RuntimeException("Cart item not found"));
+    }
+    
+    private Long nextId() {
+        Long id = reservedIds.poll();
+        while (id == null) {
+            synchronized (reservedIds) {
+                if (reservedIds.isEmpty()) {
+                    reservedIds.addAll(cartJdbcRepository.nextIds(ID_BLOCK_SIZE));
+                }
+            }
+            id = reservedIds.poll();
+        }
+        return id;
+    }
+    
+    private List<CartItemResponse> snapshot(UserCart cart, Predicate<CartLine> filter) {
+        cart.lastAccessMs = System.currentTimeMillis();
+        return cart.lines.values().stream()
+                .filter(line -> !line.isRemoved() && filter.test(line))
+                .sorted(Comparator.comparing(line -> line.id))
+                .map(CartLine::toResponse)
+                .collect(Collectors.toList());
+    }
+}
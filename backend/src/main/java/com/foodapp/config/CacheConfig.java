@@ -0,0 +1,14 @@
+package com.foodapp.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables the Caffeine backed catalog cache.
+ * Cache names and eviction policy live in application.properties (spring.cache.*),
+ * invalidation is handled by CatalogCacheInvalidator.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+}
@@ -0,0 +1,54 @@
+package com.foodapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Request execution mode.
+ * spring.threads.virtual.enabled=true (JDK 21+) makes Spring Boot run Tomcat requests,
+ * @Async work and @Scheduled tasks on virtual threads. The pool then stops being the
+ * natural throttle, so app.datasource.limiter.enabled puts a fair semaphore sized to
+ * the Hikari pool in front of it.
+ */
+@Slf4j
+@Configuration
+public class ExecutionModeConfig {
+    
+    @Bean
+    @ConditionalOnProperty(name = "app.datasource.limiter.enabled", havingValue = "true")
+    static BeanPostProcessor connectionLimiterPostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                HikariDataSource hikari = hikariOf(bean);
+                if (hikari == null) {
+                    return bean;
+                }
+                long timeoutMs = environment.getProperty(
+                        "app.datasource.limiter.acquire-timeout-ms", Long.class, hikari.getConnectionTimeout());
+                log.info("Connection limiter enabled: {} permits, {}ms acquire timeout",
+                        hikari.getMaximumPoolSize(), timeoutMs);
+                return new ConnectionLimitingDataSource((DataSource) bean, hikari.getMaximumPoolSize(), timeoutMs);
+            }
+        };
+    }
+    
+    // The pool may already be wrapped, e.g. by StatementCountingDataSource
+    private static HikariDataSource hikariOf(Object bean) {
+        try {
+            return bean instanceof DataSource dataSource && dataSource.isWrapperFor(HikariDataSource.class)
+                    ? dataSource.unwrap(HikariDataSource.class)
+                    : null;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot unwrap data source", e);
+        }
+    }
+}
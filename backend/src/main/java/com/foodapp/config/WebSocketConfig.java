@@ -0,0 +1,73 @@
+package com.foodapp.config;
+
+import com.foodapp.security.StompAuthenticationInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+
+/**
+ * STOMP over WebSocket at /ws (under the servlet context path) with the in-process simple
+ * broker. Clients CONNECT with a bearer token, subscribe to /user/queue/** and send to /app/**.
+ * A session whose outbound buffer exceeds send-buffer-bytes or stays blocked for
+ * send-time-limit-ms is closed, so a slow client cannot pile up messages in memory.
+ */
+@Configuration
+@EnableWebSocketMessageBroker
+public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+    
+    private final StompAuthenticationInterceptor stompAuthenticationInterceptor;
+    private final long heartbeatMs;
+    private final int sendBufferBytes;
+    private final int sendTimeLimitMs;
+    private TaskScheduler messageBrokerTaskScheduler;
+    
+    public WebSocketConfig(StompAuthenticationInterceptor stompAuthenticationInterceptor,
+                           @Value("${app.notification.stomp.heartbeat-ms:10000}") long heartbeatMs,
+                           @Value("${app.notification.stomp.send-buffer-bytes:65536}") int sendBufferBytes,
+                           @Value("${app.notification.stomp.send-time-limit-ms:10000}") int sendTimeLimitMs) {
+        this.stompAuthenticationInterceptor = stompAuthenticationInterceptor;
+        this.heartbeatMs = heartbeatMs;
+        this.sendBufferBytes = sendBufferBytes;
+        this.sendTimeLimitMs = sendTimeLimitMs;
+    }
+    
+    // The broker's own scheduler, created by @EnableWebSocketMessageBroker, drives heartbeats
+    @Autowired
+    public void setMessageBrokerTaskScheduler(@Lazy @Qualifier("messageBrokerTaskScheduler") TaskScheduler taskScheduler) {
+        this.messageBrokerTaskScheduler = taskScheduler;
+    }
+    
+    @Override
+    public void registerStompEndpoints(StompEndpointRegistry registry) {
+        registry.addEndpoint("/ws").setAllowedOriginPatterns("*");
+    }
+    
+    @Override
+    public void configureMessageBroker(MessageBrokerRegistry registry) {
+        registry.enableSimpleBroker("/queue")
+                .setHeartbeatValue(new long[]{heartbeatMs, heartbeatMs})
+                .setTaskScheduler(messageBrokerTaskScheduler);
+        registry.setApplicationDestinationPrefixes("/app");
+        registry.setUserDestinationPrefix("/user");
+    }
+    
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(stompAuthenticationInterceptor);
+    }
+    
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendBufferSizeLimit(sendBufferBytes)
+                .setSendTimeLimit(sendTimeLimitMs);
+    }
+}
@@ -0,0 +1,36 @@
+package com.foodapp.controller;
+
+import com.foodapp.dto.response.ActivityLogResponse;
+import com.foodapp.dto.response.ApiResponse;
+import com.foodapp.dto.response.CursorPage;
+import com.foodapp.service.ActivityLogService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/activity-logs")
+@RequiredArgsConstructor
+public class ActivityLogController {
+    
+    private final ActivityLogService activityLogService;
+    
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<ApiResponse<List<ActivityLogResponse>>> getUserTimeline(
+            @PathVariable Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            CursorPage<ActivityLogResponse> logs = activityLogService.getUserTimeline(userId, from, to, cursor, limit);
+            return ResponseEntity.ok(ApiResponse.page(logs));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.foodapp.dto.request.RegisterRequest;
 import com.foodapp.dto.response.ApiResponse;
 import com.foodapp.dto.response.AuthResponse;
 import com.foodapp.dto.response.UserResponse;
+import com.foodapp.security.PasswordHashingBusyException;
 import com.foodapp.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -24,6 +25,8 @@ public class AuthController {
         try {
             UserResponse user = userService.register(request);
             return ResponseEntity.ok(ApiResponse.success("Registration successful", user));
+        } catch (PasswordHashingBusyException e) {
+            throw e; // 503 from GlobalExceptionHandler
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
@@ -34,6 +37,8 @@ public class AuthController {
         try {
             AuthResponse response = userService.login(request);
             return ResponseEntity.ok(ApiResponse.success("Login successful", response));
+        } catch (PasswordHashingBusyException e) {
+            throw e; // 503 from GlobalExceptionHandler
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
@@ -48,6 +53,8 @@ public class AuthController {
         try {
             UserResponse user = userService.syncGoogleUser(request);
             return ResponseEntity.ok(ApiResponse.success("User synced successfully", user));
+        } catch (PasswordHashingBusyException e) {
+            throw e; // 503 from GlobalExceptionHandler
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
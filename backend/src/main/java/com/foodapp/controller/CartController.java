@@ -1,8 +1,10 @@
 package com.foodapp.controller;
 
+import com.foodapp.dto.request.CartBatchRequest;
 import com.foodapp.dto.response.ApiResponse;
 import com.foodapp.dto.response.CartItemResponse;
 import com.foodapp.service.CartService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -46,6 +48,18 @@ public class CartController {
         }
     }
     
+    @PatchMapping("/user/{userId}")
+    public ResponseEntity<ApiResponse<List<CartItemResponse>>> applyCartOperations(
+            @PathVariable Long userId,
+            @Valid @RequestBody CartBatchRequest request) {
+        try {
+            List<CartItemResponse> cartItems = cartService.applyCartOperations(userId, request.getOperations());
+            return ResponseEntity.ok(ApiResponse.success("Cart updated", cartItems));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
     @PutMapping("/{cartId}")
     public ResponseEntity<ApiResponse<CartItemResponse>> updateCartQuantity(
             @PathVariable Long cartId,
@@ -0,0 +1,53 @@
+package com.foodapp.controller;
+
+import com.foodapp.dto.response.ApiResponse;
+import com.foodapp.dto.response.NotificationInboxResponse;
+import com.foodapp.service.NotificationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST fallback for clients without a STOMP session; the same mailbox and counter as /ws.
+ */
+@RestController
+@RequestMapping("/notifications")
+@RequiredArgsConstructor
+public class NotificationController {
+    
+    private final NotificationService notificationService;
+    
+    @GetMapping("/{userId}")
+    public ResponseEntity<ApiResponse<NotificationInboxResponse>> getNotifications(@PathVariable Long userId) {
+        return ResponseEntity.ok(ApiResponse.success(notificationService.getInbox(userId)));
+    }
+    
+    @GetMapping("/{userId}/unread-count")
+    public ResponseEntity<ApiResponse<Integer>> getUnreadCount(@PathVariable Long userId) {
+        return ResponseEntity.ok(ApiResponse.success(notificationService.getUnreadCount(userId)));
+    }
+    
+    @PutMapping("/{userId}/{notificationId}/read")
+    public ResponseEntity<ApiResponse<String>> markAsRead(@PathVariable Long userId, @PathVariable Long notificationId) {
+        notificationService.markAsRead(userId, notificationId);
+        return ResponseEntity.ok(ApiResponse.success("Notification marked as read", null));
+    }
+    
+    @PutMapping("/{userId}/read-all")
+    public ResponseEntity<ApiResponse<String>> markAllAsRead(@PathVariable Long userId) {
+        notificationService.markAllAsRead(userId);
+        return ResponseEntity.ok(ApiResponse.success("All notifications marked as read", null));
+    }
+    
+    @DeleteMapping("/{userId}/{notificationId}")
+    public ResponseEntity<ApiResponse<String>> deleteNotification(@PathVariable Long userId, @PathVariable Long notificationId) {
+        notificationService.delete(userId, notificationId);
+        return ResponseEntity.ok(ApiResponse.success("Notification deleted", null));
+    }
+    
+    @DeleteMapping("/{userId}")
+    public ResponseEntity<ApiResponse<String>> clearAll(@PathVariable Long userId) {
+        notificationService.clear(userId);
+        return ResponseEntity.ok(ApiResponse.success("Notifications cleared", null));
+    }
+}
@@ -0,0 +1,41 @@
+package com.foodapp.controller;
+
+import com.foodapp.dto.response.NotificationInboxResponse;
+import com.foodapp.service.NotificationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.stereotype.Controller;
+
+import java.security.Principal;
+
+/**
+ * STOMP side of the notifications: SUBSCRIBE /app/notifications answers once with the
+ * backlog and unread count; new notifications then arrive on /user/queue/notifications.
+ */
+@Controller
+@RequiredArgsConstructor
+public class NotificationStompController {
+    
+    private final NotificationService notificationService;
+    
+    @SubscribeMapping("/notifications")
+    public NotificationInboxResponse inbox(Principal principal) {
+        return notificationService.getInbox(userId(principal));
+    }
+    
+    @MessageMapping("/notifications/{notificationId}/read")
+    public void markAsRead(@DestinationVariable Long notificationId, Principal principal) {
+        notificationService.markAsRead(userId(principal), notificationId);
+    }
+    
+    @MessageMapping("/notifications/read-all")
+    public void markAllAsRead(Principal principal) {
+        notificationService.markAllAsRead(userId(principal));
+    }
+    
+    private static Long userId(Principal principal) {
+        return Long.valueOf(principal.getName());
+    }
+}
@@ -1,16 +1,24 @@
 package com.foodapp.controller;
 
 import com.foodapp.dto.response.ApiResponse;
+import com.foodapp.dto.response.CursorPage;
 import com.foodapp.dto.response.OrderResponse;
+import com.foodapp.dto.response.OrderStatusHistoryResponse;
 import com.foodapp.entity.enums.OrderStatus;
 import com.foodapp.entity.enums.PaymentMethod;
+import com.foodapp.realtime.OrderStatusStreamHub;
 import com.foodapp.service.OrderService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/orders")
@@ -18,17 +26,24 @@ import java.util.Map;
 public class OrderController {
     
     private final OrderService orderService;
+    private final OrderStatusStreamHub orderStatusStreamHub;
     
     @GetMapping("/customer/{customerId}")
-    public ResponseEntity<ApiResponse<List<OrderResponse>>> getOrdersByCustomer(@PathVariable Long customerId) {
-        List<OrderResponse> orders = orderService.getOrdersByCustomer(customerId);
-        return ResponseEntity.ok(ApiResponse.success(orders));
+    public ResponseEntity<ApiResponse<List<OrderResponse>>> getOrdersByCustomer(
+            @PathVariable Long customerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        CursorPage<OrderResponse> orders = orderService.getOrdersByCustomer(customerId, cursor, limit);
+        return ResponseEntity.ok(ApiResponse.page(orders));
     }
     
     @GetMapping("/shop/{shopId}")
-    public ResponseEntity<ApiResponse<List<OrderResponse>>> getOrdersByShop(@PathVariable Long shopId) {
-        List<OrderResponse> orders = orderService.getOrdersByShop(shopId);
-        return ResponseEntity.ok(ApiResponse.success(orders));
+    public ResponseEntity<ApiResponse<List<OrderResponse>>> getOrdersByShop(
+            @PathVariable Long shopId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        CursorPage<OrderResponse> orders = orderService.getOrdersByShop(shopId, cursor, limit);
+        return ResponseEntity.ok(ApiResponse.page(orders));
     }
     
     @GetMapping("/{id}")
@@ -41,6 +56,30 @@ public class OrderController {
         }
     }
     
+    /**
+     * Server-Sent Events: a "snapshot" event with the current status, then an "order-status"
+     * event per later transition. Every event carries the order version.
+     */
+    @GetMapping(value = "/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamOrderStatus(@PathVariable Long id) {
+        Optional<SseEmitter> stream;
+        try {
+            stream = orderStatusStreamHub.subscribeOrder(id, () -> orderService.getOrderStatus(id));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+        return toStream(stream);
+    }
+    
+    /**
+     * Server-Sent Events: an "order-status" event per transition of any order of the shop,
+     * including newly placed orders
+     */
+    @GetMapping(value = "/shop/{shopId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamShopOrders(@PathVariable Long shopId) {
+        return toStream(orderStatusStreamHub.subscribeShop(shopId));
+    }
+    
     @GetMapping("/code/{orderCode}")
     public ResponseEntity<ApiResponse<OrderResponse>> getOrderByCode(@PathVariable String orderCode) {
         try {
@@ -69,14 +108,21 @@ public class OrderController {
         }
     }
     
+    /**
+     * Body: status (not cancelled, see /cancel), optional changedById and version (the order version the client last saw)
+     */
     @PutMapping("/{id}/status")
     public ResponseEntity<ApiResponse<OrderResponse>> updateOrderStatus(
             @PathVariable Long id,
-            @RequestBody Map<String, String> request) {
+            @RequestBody Map<String, Object> request) {
         try {
-            OrderStatus status = OrderStatus.valueOf(request.get("status"));
-            OrderResponse order = orderService.updateOrderStatus(id, status);
+            OrderStatus status = OrderStatus.valueOf((String) request.get("status"));
+            Long changedById = optionalLong(request, "changedById");
+            Long version = optionalLong(request, "version");
+            OrderResponse order = orderService.updateOrderStatus(id, status, changedById, version);
             return ResponseEntity.ok(ApiResponse.success("Order status updated", order));
+        } catch (OptimisticLockingFailureException e) {
+            throw e; // 409 from GlobalExceptionHandler
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
@@ -89,11 +135,36 @@ public class OrderController {
         try {
             Long cancelledById = Long.valueOf(request.get("cancelledById").toString());
             String reason = (String) request.get("reason");
+            Long version = optionalLong(request, "version");
             
-            OrderResponse order = orderService.cancelOrder(id, cancelledById, reason);
+            OrderResponse order = orderService.cancelOrder(id, cancelledById, reason, version);
             return ResponseEntity.ok(ApiResponse.success("Order cancelled", order));
+        } catch (OptimisticLockingFailureException e) {
+            throw e; // 409 from GlobalExceptionHandler
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/{id}/history")
+    public ResponseEntity<ApiResponse<List<OrderStatusHistoryResponse>>> getOrderHistory(@PathVariable Long id) {
+        try {
+            List<OrderStatusHistoryResponse> history = orderService.getOrderHistory(id);
+            return ResponseEntity.ok(ApiResponse.success(history));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
     }
+    
+    private static Long optionalLong(Map<String, Object> request, String key) {
+        Object value = request.get(key);
+        return value != null ? Long.valueOf(value.toString()) : null;
+    }
+    
+    private ResponseEntity<SseEmitter> toStream(Optional<SseEmitter> emitter) {
+        return emitter
+                // Keeps nginx-style proxies from buffering the stream
+                .map(e -> ResponseEntity.ok().header("X-Accel-Buffering", "no").body(e))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "5").build());
+    }
 }
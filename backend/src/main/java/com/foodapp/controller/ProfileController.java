@@ -3,6 +3,7 @@ package com.foodapp.controller;
 import com.foodapp.dto.request.UpdateProfileRequest;
 import com.foodapp.dto.response.ApiResponse;
 import com.foodapp.dto.response.UserResponse;
+import com.foodapp.security.PasswordHashingBusyException;
 import com.foodapp.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -55,6 +56,8 @@ public class ProfileController {
         try {
             userService.changePassword(userId, currentPassword, newPassword);
             return ResponseEntity.ok(ApiResponse.success("Password changed successfully", null));
+        } catch (PasswordHashingBusyException e) {
+            throw e; // 503 from GlobalExceptionHandler
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
@@ -1,7 +1,9 @@
 package com.foodapp.controller;
 
 import com.foodapp.dto.response.ApiResponse;
+import com.foodapp.dto.response.CursorPage;
 import com.foodapp.dto.response.ReviewResponse;
+import com.foodapp.dto.response.ReviewSummaryResponse;
 import com.foodapp.service.ReviewService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -18,9 +20,24 @@ public class ReviewController {
     private final ReviewService reviewService;
     
     @GetMapping("/shop/{shopId}")
-    public ResponseEntity<ApiResponse<List<ReviewResponse>>> getReviewsByShop(@PathVariable Long shopId) {
-        List<ReviewResponse> reviews = reviewService.getReviewsByShop(shopId);
-        return ResponseEntity.ok(ApiResponse.success(reviews));
+    public ResponseEntity<ApiResponse<List<ReviewResponse>>> getReviewsByShop(
+            @PathVariable Long shopId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        CursorPage<ReviewResponse> reviews = reviewService.getReviewsByShop(shopId, cursor, limit);
+        return ResponseEntity.ok(ApiResponse.page(reviews));
+    }
+    
+    @GetMapping("/shop/{shopId}/summary")
+    public ResponseEntity<ApiResponse<ReviewSummaryResponse>> getReviewSummary(
+            @PathVariable Long shopId,
+            @RequestParam(required = false) Integer latest) {
+        try {
+            ReviewSummaryResponse summary = reviewService.getReviewSummary(shopId, latest);
+            return ResponseEntity.ok(ApiResponse.success(summary));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
     }
     
     @GetMapping("/customer/{customerId}")
@@ -55,6 +72,33 @@ public class ReviewController {
         }
     }
     
+    @PutMapping("/{id}")
+    public ResponseEntity<ApiResponse<ReviewResponse>> updateReview(
+            @PathVariable Long id,
+            @RequestBody Map<String, Object> request) {
+        try {
+            Integer rating = request.get("rating") != null 
+                    ? Integer.valueOf(request.get("rating").toString()) : null;
+            String comment = (String) request.get("comment");
+            String images = (String) request.get("images");
+            
+            ReviewResponse review = reviewService.updateReview(id, rating, comment, images);
+            return ResponseEntity.ok(ApiResponse.success("Review updated successfully", review));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ApiResponse<Void>> deleteReview(@PathVariable Long id) {
+        try {
+            reviewService.deleteReview(id);
+            return ResponseEntity.ok(ApiResponse.success("Review deleted successfully", null));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
     @PutMapping("/{id}/reply")
     public ResponseEntity<ApiResponse<ReviewResponse>> addShopReply(
             @PathVariable Long id,
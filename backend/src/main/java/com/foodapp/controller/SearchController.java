@@ -0,0 +1,33 @@
+package com.foodapp.controller;
+
+import com.foodapp.dto.response.ApiResponse;
+import com.foodapp.dto.response.SuggestionResponse;
+import com.foodapp.search.SuggestionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/search")
+@RequiredArgsConstructor
+public class SearchController {
+    
+    private final SuggestionService suggestionService;
+    
+    @GetMapping("/suggest")
+    public ResponseEntity<ApiResponse<List<SuggestionResponse>>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(required = false) Integer limit) {
+        List<SuggestionResponse> suggestions = suggestionService.suggest(prefix, limit).stream()
+                .map(s -> SuggestionResponse.builder()
+                        .type(s.type())
+                        .id(s.id())
+                        .text(s.text())
+                        .build())
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(ApiResponse.success(suggestions));
+    }
+}
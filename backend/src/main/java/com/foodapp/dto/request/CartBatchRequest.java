@@ -0,0 +1,20 @@
+package com.foodapp.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartBatchRequest {
+    
+    @NotEmpty(message = "Operations are required")
+    @Size(max = 100, message = "At most 100 operations per request")
+    private List<@Valid CartOperationRequest> operations;
+}
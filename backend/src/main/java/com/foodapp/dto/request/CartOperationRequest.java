@@ -0,0 +1,46 @@
+package com.foodapp.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One change in a PATCH /cart/user/{userId} batch.
+ * add: shopId, foodItemId, quantity (added to any existing line)
+ * set: cartId, quantity (0 or less removes the line)
+ * remove: cartId
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartOperationRequest {
+    
+    public static final String ADD = "add";
+    public static final String SET = "set";
+    public static final String REMOVE = "remove";
+    
+    @NotBlank(message = "Operation type is required")
+    @Pattern(regexp = "add|set|remove", message = "Operation type must be add, set or remove")
+    private String type;
+    
+    private Long shopId;
+    
+    private Long foodItemId;
+    
+    private Long cartId;
+    
+    private Integer quantity;
+    
+    /**
+     * The operation as applied: a set to 0 or less is a remove.
+     */
+    public String effectiveType() {
+        if (SET.equals(type) && (quantity == null || quantity <= 0)) {
+            return REMOVE;
+        }
+        return type;
+    }
+}
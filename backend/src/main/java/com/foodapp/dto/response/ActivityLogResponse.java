@@ -0,0 +1,21 @@
+package com.foodapp.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityLogResponse {
+    private Long id;
+    private Long userId;
+    private String action;
+    private String description;
+    private String ipAddress;
+    private OffsetDateTime createdAt;
+}
@@ -1,10 +1,13 @@
 package com.foodapp.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -14,6 +17,10 @@ public class ApiResponse<T> {
     private String message;
     private T data;
     
+    // Only set on paginated list responses; pass it back as ?cursor= to get the next page
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+    
     public static <T> ApiResponse<T> success(T data) {
         return ApiResponse.<T>builder()
                 .success(true)
@@ -30,6 +37,15 @@ public class ApiResponse<T> {
                 .build();
     }
     
+    public static <T> ApiResponse<List<T>> page(CursorPage<T> page) {
+        return ApiResponse.<List<T>>builder()
+                .success(true)
+                .message("Success")
+                .data(page.getItems())
+                .nextCursor(page.getNextCursor())
+                .build();
+    }
+    
     public static <T> ApiResponse<T> error(String message) {
         return ApiResponse.<T>builder()
                 .success(false)
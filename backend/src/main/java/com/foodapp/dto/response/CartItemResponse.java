@@ -25,4 +25,9 @@ public class CartItemResponse {
     private Integer quantity;
     private BigDecimal subtotal;
     private OffsetDateTime createdAt;
+    
+    // Line total at the discounted price when there is one; shared by every cart read path
+    public static BigDecimal subtotal(BigDecimal price, BigDecimal discountPrice, int quantity) {
+        return (discountPrice != null ? discountPrice : price).multiply(BigDecimal.valueOf(quantity));
+    }
 }
@@ -0,0 +1,17 @@
+package com.foodapp.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationInboxResponse {
+    private List<NotificationResponse> notifications;
+    private Integer unreadCount;
+}
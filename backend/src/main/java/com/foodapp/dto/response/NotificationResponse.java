@@ -0,0 +1,23 @@
+package com.foodapp.dto.response;
+
+import com.foodapp.notification.NotificationType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationResponse {
+    private Long id;
+    private NotificationType type;
+    private String title;
+    private String message;
+    private Long referenceId;
+    private Boolean isRead;
+    private OffsetDateTime createdAt;
+}
@@ -38,5 +38,6 @@ public class OrderResponse {
     private OffsetDateTime createdAt;
     private OffsetDateTime confirmedAt;
     private OffsetDateTime completedAt;
+    private Long version;
     private List<OrderItemResponse> orderItems;
 }
@@ -0,0 +1,23 @@
+package com.foodapp.dto.response;
+
+import com.foodapp.entity.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusHistoryResponse {
+    private Long id;
+    private Long orderId;
+    private OrderStatus previousStatus;
+    private OrderStatus orderStatus;
+    private Long changedById;
+    private String note;
+    private OffsetDateTime changedAt;
+}
@@ -0,0 +1,25 @@
+package com.foodapp.dto.response;
+
+import com.foodapp.entity.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusUpdate {
+    private Long orderId;
+    private String orderCode;
+    private Long customerId;
+    private Long shopId;
+    private OrderStatus previousStatus;
+    private OrderStatus orderStatus;
+    private OffsetDateTime changedAt;
+    // Order version the status belongs to; a newer version is a later status
+    private Long version;
+}
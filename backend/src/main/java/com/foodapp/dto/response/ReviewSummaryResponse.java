@@ -0,0 +1,23 @@
+package com.foodapp.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewSummaryResponse {
+    private Long shopId;
+    private BigDecimal ratingAverage;
+    private Integer totalReviews;
+    // star (1-5) -> number of reviews
+    private Map<Integer, Integer> ratingCounts;
+    private List<ReviewResponse> latestReviews;
+}
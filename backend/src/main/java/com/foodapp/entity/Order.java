@@ -89,9 +89,11 @@ public class Order {
     @Column(name = "completed_at")
     private OffsetDateTime completedAt;
     
+    // Bumped on every update; a stale write fails instead of overwriting a concurrent change
+    @Version
+    @Column(nullable = false)
+    private Long version;
+    
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<OrderItem> orderItems = new ArrayList<>();
-    
-    @OneToOne(mappedBy = "order", cascade = CascadeType.ALL)
-    private Review review;
 }
@@ -14,8 +14,10 @@ import java.math.BigDecimal;
 @AllArgsConstructor
 public class OrderItem {
     
+    // Pooled sequence ids let Hibernate batch the inserts of a whole order (see 05_order_items_pooled_sequence.sql)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_seq")
+    @SequenceGenerator(name = "order_items_seq", sequenceName = "order_items_id_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,49 @@
+package com.foodapp.entity;
+
+import com.foodapp.entity.enums.OrderStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.OffsetDateTime;
+
+/**
+ * One row per order status change, written in the transaction that made it. Rows are never
+ * updated or deleted (except with their order).
+ */
+@Entity
+@Immutable
+@Table(name = "order_status_history")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusHistory {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id", nullable = false)
+    private Order order;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "previous_status", columnDefinition = "order_status_enum")
+    private OrderStatus previousStatus;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "order_status", nullable = false, columnDefinition = "order_status_enum")
+    private OrderStatus orderStatus;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "changed_by")
+    private User changedBy;
+    
+    @Column(columnDefinition = "TEXT")
+    private String note;
+    
+    @Column(name = "changed_at", nullable = false)
+    private OffsetDateTime changedAt;
+}
@@ -50,10 +50,11 @@ public class Shop {
     @Column(columnDefinition = "shop_status_enum")
     private ShopStatus status = ShopStatus.pending;
     
-    @Column(name = "rating_average", precision = 2, scale = 1)
+    // Maintained in the database by ShopRatingAggregator; never written back from the entity
+    @Column(name = "rating_average", precision = 2, scale = 1, updatable = false)
     private BigDecimal ratingAverage = BigDecimal.ZERO;
     
-    @Column(name = "total_reviews")
+    @Column(name = "total_reviews", updatable = false)
     private Integer totalReviews = 0;
     
     @CreationTimestamp
@@ -0,0 +1,36 @@
+package com.foodapp.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Star histogram of a shop. Written only through ShopRatingCountRepository's delta queries.
+ */
+@Entity
+@Table(name = "shop_rating_counts")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShopRatingCount {
+    
+    @Id
+    @Column(name = "shop_id")
+    private Long shopId;
+    
+    @Column(name = "rating_1", nullable = false)
+    private Integer rating1 = 0;
+    
+    @Column(name = "rating_2", nullable = false)
+    private Integer rating2 = 0;
+    
+    @Column(name = "rating_3", nullable = false)
+    private Integer rating3 = 0;
+    
+    @Column(name = "rating_4", nullable = false)
+    private Integer rating4 = 0;
+    
+    @Column(name = "rating_5", nullable = false)
+    private Integer rating5 = 0;
+}
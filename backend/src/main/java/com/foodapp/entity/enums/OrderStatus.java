@@ -1,5 +1,11 @@
 package com.foodapp.entity.enums;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum OrderStatus {
     pending,
     confirmed,
@@ -7,5 +13,27 @@ public enum OrderStatus {
     ready,
     delivering,
     completed,
-    cancelled
+    cancelled;
+
+    // An order moves forward one step at a time and can be cancelled until it is out for delivery;
+    // completed and cancelled are final
+    private static final Map<OrderStatus, Set<OrderStatus>> TRANSITIONS = new EnumMap<>(OrderStatus.class);
+
+    static {
+        TRANSITIONS.put(pending, EnumSet.of(confirmed, cancelled));
+        TRANSITIONS.put(confirmed, EnumSet.of(preparing, cancelled));
+        TRANSITIONS.put(preparing, EnumSet.of(ready, cancelled));
+        TRANSITIONS.put(ready, EnumSet.of(delivering, cancelled));
+        TRANSITIONS.put(delivering, EnumSet.of(completed));
+        TRANSITIONS.put(completed, EnumSet.noneOf(OrderStatus.class));
+        TRANSITIONS.put(cancelled, EnumSet.noneOf(OrderStatus.class));
+    }
+
+    public boolean canTransitionTo(OrderStatus next) {
+        return TRANSITIONS.get(this).contains(next);
+    }
+
+    public Set<OrderStatus> nextStatuses() {
+        return Collections.unmodifiableSet(TRANSITIONS.get(this));
+    }
 }
@@ -0,0 +1,12 @@
+package com.foodapp.event;
+
+import lombok.Value;
+
+/**
+ * Published by CategoryService after a category is created, updated or deleted.
+ */
+@Value
+public class CategoryChangedEvent {
+    Long categoryId;
+    boolean deleted;
+}
@@ -0,0 +1,13 @@
+package com.foodapp.event;
+
+import lombok.Value;
+
+/**
+ * Published by FoodItemService after a food item is created, updated or deleted.
+ */
+@Value
+public class FoodItemChangedEvent {
+    Long foodItemId;
+    Long shopId;
+    boolean deleted;
+}
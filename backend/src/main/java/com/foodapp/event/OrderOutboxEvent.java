@@ -0,0 +1,26 @@
+package com.foodapp.event;
+
+import com.foodapp.entity.enums.OrderStatus;
+import lombok.Value;
+
+import java.time.OffsetDateTime;
+
+/**
+ * An order_events row, published by OrderOutboxRelay inside the transaction that marks it
+ * published. Delivery is at least once and in order per order; eventId is stable across
+ * redeliveries, so listeners can deduplicate on it.
+ */
+@Value
+public class OrderOutboxEvent {
+    Long eventId;
+    Long orderId;
+    String orderCode;
+    Long customerId;
+    Long shopId;
+    Long shopOwnerId;
+    OrderStatus previousStatus;
+    OrderStatus status;
+    OffsetDateTime occurredAt;
+    // Failed deliveries so far; 0 on the first delivery
+    int attempts;
+}
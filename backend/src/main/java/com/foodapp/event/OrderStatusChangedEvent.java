@@ -0,0 +1,24 @@
+package com.foodapp.event;
+
+import com.foodapp.entity.enums.OrderStatus;
+import lombok.Value;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Published by OrderService when an order is placed (previousStatus is null), moves to a new
+ * status or is cancelled.
+ */
+@Value
+public class OrderStatusChangedEvent {
+    Long orderId;
+    String orderCode;
+    Long customerId;
+    Long shopId;
+    Long shopOwnerId;
+    OrderStatus previousStatus;
+    OrderStatus status;
+    OffsetDateTime changedAt;
+    // Order version after the change
+    Long version;
+}
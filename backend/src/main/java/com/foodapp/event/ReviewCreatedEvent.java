@@ -0,0 +1,16 @@
+package com.foodapp.event;
+
+import lombok.Value;
+
+/**
+ * Published by ReviewService after a customer reviewed an order.
+ */
+@Value
+public class ReviewCreatedEvent {
+    Long reviewId;
+    Long orderId;
+    String orderCode;
+    Long shopId;
+    Long shopOwnerId;
+    int rating;
+}
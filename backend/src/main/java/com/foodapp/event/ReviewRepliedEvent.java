@@ -0,0 +1,13 @@
+package com.foodapp.event;
+
+import lombok.Value;
+
+/**
+ * Published by ReviewService after a shop replied to a review.
+ */
+@Value
+public class ReviewRepliedEvent {
+    Long reviewId;
+    Long orderId;
+    Long customerId;
+}
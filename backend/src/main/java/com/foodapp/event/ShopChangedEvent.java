@@ -0,0 +1,11 @@
+package com.foodapp.event;
+
+import lombok.Value;
+
+/**
+ * Published by ShopService after a shop is created or updated.
+ */
+@Value
+public class ShopChangedEvent {
+    Long shopId;
+}
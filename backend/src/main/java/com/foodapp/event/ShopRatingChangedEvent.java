@@ -0,0 +1,11 @@
+package com.foodapp.event;
+
+import lombok.Value;
+
+/**
+ * Published by ShopRatingAggregator after a shop's rating aggregate changed.
+ */
+@Value
+public class ShopRatingChangedEvent {
+    Long shopId;
+}
@@ -0,0 +1,96 @@
+package com.foodapp.notification;
+
+import com.foodapp.event.OrderOutboxEvent;
+import com.foodapp.event.ReviewCreatedEvent;
+import com.foodapp.event.ReviewRepliedEvent;
+import com.foodapp.service.NotificationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Turns order and review events into notifications. Each is handled inside a transaction: the
+ * notifications are stored there and pushed once it commits, so a rolled back change never
+ * reaches a client. Review events are handled just before the review commits. Order events
+ * come from the outbox relay, in the transaction that marks them published, so a redelivered
+ * batch notifies once and an order change committed just before a crash is still notified
+ * after the restart.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationEventListener {
+
+    private final NotificationService notificationService;
+
+    @EventListener
+    public void onOrderEvent(OrderOutboxEvent event) {
+        notificationService.deliver(notificationsFor(event));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onReviewCreated(ReviewCreatedEvent event) {
+        notificationService.deliver(notificationsFor(event));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onReviewReplied(ReviewRepliedEvent event) {
+        notificationService.deliver(notificationsFor(event));
+    }
+
+    private List<NotificationMessage> notificationsFor(OrderOutboxEvent event) {
+        String code = event.getOrderCode();
+        List<NotificationMessage> notifications = new ArrayList<>(2);
+        if (event.getPreviousStatus() == null) {
+            notifications.add(order(event.getCustomerId(), event, "Đặt hàng thành công",
+                    "Đơn hàng #" + code + " đã được gửi tới cửa hàng."));
+            notifications.add(order(event.getShopOwnerId(), event, "Đơn hàng mới",
+                    "Bạn có đơn hàng mới #" + code + "."));
+            return notifications;
+        }
+        if (event.getStatus() == event.getPreviousStatus()) {
+            return notifications;
+        }
+        switch (event.getStatus()) {
+            case confirmed -> notifications.add(order(event.getCustomerId(), event, "Đơn hàng đã được xác nhận",
+                    "Cửa hàng đã xác nhận đơn hàng #" + code + "."));
+            case preparing -> notifications.add(order(event.getCustomerId(), event, "Đang chuẩn bị món",
+                    "Đơn hàng #" + code + " đang được chuẩn bị."));
+            case ready -> notifications.add(order(event.getCustomerId(), event, "Món đã sẵn sàng",
+                    "Đơn hàng #" + code + " đã sẵn sàng và đang chờ giao."));
+            case delivering -> notifications.add(order(event.getCustomerId(), event, "Đang giao hàng",
+                    "Đơn hàng #" + code + " đang được giao đến bạn."));
+            case completed -> notifications.add(order(event.getCustomerId(), event, "Đơn hàng đã được giao",
+                    "Đơn hàng #" + code + " đã được giao thành công. Cảm ơn bạn đã sử dụng dịch vụ!"));
+            case cancelled -> {
+                notifications.add(order(event.getCustomerId(), event, "Đơn hàng đã bị hủy",
+                        "Đơn hàng #" + code + " đã bị hủy."));
+                notifications.add(order(event.getShopOwnerId(), event, "Đơn hàng bị hủy",
+                        "Đơn hàng #" + code + " đã bị hủy."));
+            }
+            default -> {
+                // pending is only reached by placing the order
+            }
+        }
+        return notifications;
+    }
+
+    private List<NotificationMessage> notificationsFor(ReviewCreatedEvent event) {
+        return List.of(new NotificationMessage(event.getShopOwnerId(), NotificationType.review, "Đánh giá mới",
+                "Đơn hàng #" + event.getOrderCode() + " nhận được đánh giá " + event.getRating() + "★.",
+                event.getOrderId()));
+    }
+
+    private List<NotificationMessage> notificationsFor(ReviewRepliedEvent event) {
+        return List.of(new NotificationMessage(event.getCustomerId(), NotificationType.review,
+                "Cửa hàng đã phản hồi", "Cửa hàng đã phản hồi đánh giá của bạn.", event.getOrderId()));
+    }
+
+    private static NotificationMessage order(Long userId, OrderOutboxEvent event, String title, String message) {
+        return new NotificationMessage(userId, NotificationType.order, title, message, event.getOrderId());
+    }
+}
@@ -0,0 +1,148 @@
+package com.foodapp.notification;
+
+import com.foodapp.dto.response.NotificationResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * In-memory copy of each user's newest notifications (the notifications table), newest first,
+ * capped at backlog-size entries, so opening the inbox does not read the table every time.
+ * A mailbox is loaded from the table on first use; changes are applied by NotificationService
+ * after they commit. Mailboxes of users who have not been notified or read for mailbox-idle-ms
+ * are dropped, and at most max-mailboxes are kept, so memory stays bounded.
+ */
+@Component
+public class NotificationMailbox {
+
+    private record Entry(long id, NotificationType type, String title, String message, Long referenceId,
+                         boolean read, OffsetDateTime createdAt) {
+
+        static Entry of(NotificationResponse response) {
+            return new Entry(response.getId(), response.getType(), response.getTitle(), response.getMessage(),
+                    response.getReferenceId(), Boolean.TRUE.equals(response.getIsRead()), response.getCreatedAt());
+        }
+
+        Entry markRead() {
+            return read ? this : new Entry(id, type, title, message, referenceId, true, createdAt);
+        }
+
+        NotificationResponse toResponse() {
+            return NotificationResponse.builder()
+                    .id(id)
+                    .type(type)
+                    .title(title)
+                    .message(message)
+                    .referenceId(referenceId)
+                    .isRead(read)
+                    .createdAt(createdAt)
+                    .build();
+        }
+    }
+
+    private final Cache<Long, ArrayDeque<Entry>> mailboxes;
+    private final int backlogSize;
+
+    public NotificationMailbox(MeterRegistry meterRegistry,
+                               @Value("${app.notification.backlog-size:50}") int backlogSize,
+                               @Value("${app.notification.max-mailboxes:100000}") long maxMailboxes,
+                               @Value("${app.notification.mailbox-idle-ms:86400000}") long idleMs) {
+        this.backlogSize = backlogSize;
+        this.mailboxes = Caffeine.newBuilder()
+                .maximumSize(maxMailboxes)
+                .expireAfterAccess(Duration.ofMillis(idleMs))
+                .build();
+        Gauge.builder("notification.mailboxes", mailboxes, cache -> cache.estimatedSize()).register(meterRegistry);
+    }
+
+    public int getBacklogSize() {
+        return backlogSize;
+    }
+
+    /**
+     * Adds a committed notification to the user's mailbox if it is loaded; otherwise the next
+     * load reads it from the table.
+     */
+    public void add(Long userId, NotificationResponse notification) {
+        ArrayDeque<Entry> mailbox = mailboxes.getIfPresent(userId);
+        if (mailbox == null) {
+            return;
+        }
+        synchronized (mailbox) {
+            // A load that ran after the commit already has it
+            if (mailbox.stream().anyMatch(entry -> entry.id() == notification.getId())) {
+                return;
+            }
+            mailbox.addFirst(Entry.of(notification));
+            while (mailbox.size() > backlogSize) {
+                mailbox.removeLast();
+            }
+        }
+    }
+
+    public List<NotificationResponse> list(Long userId, Function<Long, List<NotificationResponse>> loader) {
+        ArrayDeque<Entry> mailbox = mailboxes.get(userId, id -> {
+            ArrayDeque<Entry> loaded = new ArrayDeque<>(backlogSize);
+            loader.apply(id).forEach(response -> loaded.addLast(Entry.of(response)));
+            return loaded;
+        });
+        synchronized (mailbox) {
+            List<NotificationResponse> responses = new ArrayList<>(mailbox.size());
+            mailbox.forEach(entry -> responses.add(entry.toResponse()));
+            return responses;
+        }
+    }
+
+    public void markRead(Long userId, Long notificationId) {
+        update(userId, notificationId, false);
+    }
+
+    public void markAllRead(Long userId) {
+        ArrayDeque<Entry> mailbox = mailboxes.getIfPresent(userId);
+        if (mailbox == null) {
+            return;
+        }
+        synchronized (mailbox) {
+            List<Entry> entries = new ArrayList<>(mailbox);
+            mailbox.clear();
+            entries.forEach(entry -> mailbox.addLast(entry.markRead()));
+        }
+    }
+
+    public void remove(Long userId, Long notificationId) {
+        update(userId, notificationId, true);
+    }
+
+    public void clear(Long userId) {
+        mailboxes.invalidate(userId);
+    }
+
+    private void update(Long userId, Long notificationId, boolean remove) {
+        ArrayDeque<Entry> mailbox = mailboxes.getIfPresent(userId);
+        if (mailbox == null || notificationId == null) {
+            return;
+        }
+        synchronized (mailbox) {
+            List<Entry> entries = new ArrayList<>(mailbox.size());
+            for (Entry entry : mailbox) {
+                if (entry.id() != notificationId) {
+                    entries.add(entry);
+                } else if (!remove) {
+                    entries.add(entry.markRead());
+                }
+            }
+            mailbox.clear();
+            mailbox.addAll(entries);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.foodapp.notification;
+
+/**
+ * A notification addressed to one user, before it is stored and delivered.
+ * referenceId is the order the notification is about.
+ */
+public record NotificationMessage(Long userId, NotificationType type, String title, String message, Long referenceId) {
+}
@@ -0,0 +1,7 @@
+package com.foodapp.notification;
+
+public enum NotificationType {
+    order,
+    review,
+    system
+}
@@ -0,0 +1,64 @@
+package com.foodapp.observability;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Publishes sql.statements.per.request, tagged like http.server.requests (method, uri),
+ * so endpoints that fan out into many queries stand out next to their latency.
+ * A request over app.sql.statement-budget statements is logged with its most repeated
+ * query shapes, which is usually enough to spot the N+1 behind it.
+ */
+@Slf4j
+@Component
+public class RequestMetricsFilter extends OncePerRequestFilter {
+    
+    private final MeterRegistry meterRegistry;
+    private final int statementBudget;
+    
+    public RequestMetricsFilter(MeterRegistry meterRegistry,
+                                @Value("${app.sql.statement-budget:20}") int statementBudget) {
+        this.meterRegistry = meterRegistry;
+        this.statementBudget = statementBudget;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        StatementCapture capture = StatementCapture.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            capture.close();
+            String uri = uriTemplate(request);
+            DistributionSummary.builder("sql.statements.per.request")
+                    .description("JDBC statements executed while handling one request")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(capture.count());
+            
+            if (statementBudget > 0 && capture.count() > statementBudget) {
+                log.warn("{} {} executed {} SQL statements (budget {}):\n{}",
+                        request.getMethod(), uri, capture.count(), statementBudget, capture.describe(5));
+            }
+        }
+    }
+    
+    static String uriTemplate(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
@@ -0,0 +1,27 @@
+package com.foodapp.observability;
+
+import java.util.regex.Pattern;
+
+/**
+ * Reduces a SQL string to its shape so repeated executions of one query group together:
+ * literals become ?, IN lists collapse, whitespace and case are normalized.
+ */
+final class SqlFingerprint {
+    
+    private static final int MAX_LENGTH = 160;
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    
+    private SqlFingerprint() {
+    }
+    
+    static String of(String sql) {
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ").toLowerCase();
+        shape = STRING_LITERAL.matcher(shape).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("in (...)");
+        return shape.length() > MAX_LENGTH ? shape.substring(0, MAX_LENGTH) + "..." : shape;
+    }
+}
@@ -0,0 +1,101 @@
+package com.foodapp.observability;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Counts the SQL statements executed on the current thread (see StatementCountingDataSource),
+ * grouped by fingerprint.
+ * RequestMetricsFilter opens one per request; tests can open their own and assert on it:
+ *
+ * <pre>
+ * try (StatementCapture capture = StatementCapture.start()) {
+ *     orderService.getOrdersByCustomer(customerId, null, 20);
+ *     capture.assertAtMost(3);
+ * }
+ * </pre>
+ *
+ * Captures nest: a statement is counted in the innermost capture and every one around it.
+ */
+public final class StatementCapture implements AutoCloseable {
+    
+    private static final ThreadLocal<StatementCapture> CURRENT = new ThreadLocal<>();
+    // Bounds memory when a request runs many distinct statements
+    private static final int MAX_FINGERPRINTS = 50;
+    
+    private final StatementCapture parent;
+    private final Map<String, Integer> fingerprints = new LinkedHashMap<>();
+    private int count;
+    private boolean closed;
+    
+    private StatementCapture(StatementCapture parent) {
+        this.parent = parent;
+    }
+    
+    public static StatementCapture start() {
+        StatementCapture capture = new StatementCapture(CURRENT.get());
+        CURRENT.set(capture);
+        return capture;
+    }
+    
+    static void record(String sql) {
+        StatementCapture capture = CURRENT.get();
+        if (capture == null) {
+            return;
+        }
+        String fingerprint = SqlFingerprint.of(sql);
+        for (; capture != null; capture = capture.parent) {
+            capture.count++;
+            if (capture.fingerprints.containsKey(fingerprint) || capture.fingerprints.size() < MAX_FINGERPRINTS) {
+                capture.fingerprints.merge(fingerprint, 1, Integer::sum);
+            }
+        }
+    }
+    
+    public int count() {
+        return count;
+    }
+    
+    public Map<String, Integer> fingerprints() {
+        return Map.copyOf(fingerprints);
+    }
+    
+    /**
+     * The most executed statement shapes, most frequent first.
+     */
+    public List<Map.Entry<String, Integer>> topFingerprints(int limit) {
+        return fingerprints.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+    
+    public String describe(int limit) {
+        return topFingerprints(limit).stream()
+                .map(entry -> entry.getValue() + "x " + entry.getKey())
+                .collect(Collectors.joining("\n  ", "  ", ""));
+    }
+    
+    public void assertAtMost(int maxStatements) {
+        if (count > maxStatements) {
+            throw new AssertionError("Expected at most " + maxStatements + " SQL statements but " + count
+                    + " were executed:\n" + describe(10));
+        }
+    }
+    
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (parent != null) {
+            CURRENT.set(parent);
+        } else {
+            CURRENT.remove();
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.foodapp.outbox;
+
+import com.foodapp.event.OrderOutboxEvent;
+import com.foodapp.event.OrderStatusChangedEvent;
+import com.foodapp.repository.OrderOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drains the order_events outbox to OrderOutboxEvent listeners (plain @EventListener).
+ * A single relay thread claims a batch with FOR UPDATE SKIP LOCKED, publishes it and marks
+ * it published in one transaction, so a listener that throws sends the whole batch back for
+ * redelivery. The thread is woken after every order commit and otherwise polls every
+ * poll-interval-ms, which also picks up rows left by a crashed instance.
+ * A failed batch is retried one event at a time, so only the failing event (and the later
+ * events of the same order) wait. While a claimed batch holds an event that already failed,
+ * it goes out one event at a time straight away instead of failing and redelivering the
+ * others again. After max-attempts the event is logged and skipped. The thread starts once
+ * the application is ready, so events left from before a restart reach every listener.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.order-outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OrderOutboxRelay {
+
+    private final OrderOutboxRepository orderOutboxRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long pollIntervalNanos;
+    private final Duration retention;
+    private final Counter published;
+    private final Counter failed;
+    private final Counter skipped;
+    private final Timer lag;
+    private volatile boolean running;
+    private volatile Thread relayThread;
+
+    public OrderOutboxRelay(OrderOutboxRepository orderOutboxRepository,
+                            ApplicationEventPublisher eventPublisher,
+                            TransactionTemplate transactionTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.order-outbox.batch-size:100}") int batchSize,
+                            @Value("${app.order-outbox.max-attempts:10}") int maxAttempts,
+                            @Value("${app.order-outbox.poll-interval-ms:1000}") long pollIntervalMs,
+                            @Value("${app.order-outbox.retention-hours:72}") long retentionHours) {
+        this.orderOutboxRepository = orderOutboxRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.pollIntervalNanos = TimeUnit.MILLISECONDS.toNanos(pollIntervalMs);
+        this.retention = Duration.ofHours(retentionHours);
+        this.published = Counter.builder("order.outbox.published").register(meterRegistry);
+        this.failed = Counter.builder("order.outbox.failed")
+                .description("Delivery attempts of order events that threw in a listener")
+                .register(meterRegistry);
+        this.skipped = Counter.builder("order.outbox.skipped")
+                .description("Order events given up on after max-attempts")
+                .register(meterRegistry);
+        this.lag = Timer.builder("order.outbox.lag")
+                .description("Time from the order change to the event being published")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    // Not earlier: the OrderOutboxEvent listeners are only registered once the context is refreshed
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        running = true;
+        relayThread = new Thread(this::relayLoop, "order-outbox-relay");
+        relayThread.setDaemon(true);
+        relayThread.start();
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        Thread thread = relayThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    @TransactionalEventListener
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        // Before start() there is no thread yet; it picks the row up on its first pass
+        Thread thread = relayThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.order-outbox.purge-interval-ms:3600000}", initialDelay = 60_000)
+    void purgePublished() {
+        int deleted = orderOutboxRepository.deletePublishedBefore(OffsetDateTime.now().minus(retention));
+        if (deleted > 0) {
+            log.info("Purged {} published order event(s)", deleted);
+        }
+    }
+
+    private void relayLoop() {
+        while (running) {
+            try {
+                // A full batch means there is probably more waiting
+                if (relayBatch() < batchSize) {
+                    LockSupport.parkNanos(this, pollIntervalNanos);
+                }
+            } catch (RuntimeException e) {
+                log.error("Order outbox relay failed", e);
+                LockSupport.parkNanos(this, pollIntervalNanos);
+            }
+        }
+    }
+
+    int relayBatch() {
+        List<OrderOutboxEvent> batch;
+        try {
+            batch = transactionTemplate.execute(status -> {
+                List<OrderOutboxEvent> events = orderOutboxRepository.lockNextBatch(batchSize);
+                // A known failure would fail the batch again; leave it to relayOneByOne
+                return events.stream().anyMatch(event -> event.getAttempts() > 0) ? null : deliver(events);
+            });
+        } catch (RuntimeException e) {
+            log.warn("Order event batch failed, retrying one event at a time: {}", e.getMessage());
+            return relayOneByOne();
+        }
+        if (batch == null) {
+            return relayOneByOne();
+        }
+        recordPublished(batch);
+        return batch.size();
+    }
+
+    // Returns 0 after any failure, so the loop backs off before the next attempt
+    private int relayOneByOne() {
+        List<OrderOutboxEvent> candidates = transactionTemplate.execute(status -> orderOutboxRepository.lockNextBatch(batchSize));
+        boolean anyFailed = false;
+        for (OrderOutboxEvent candidate : candidates) {
+            try {
+                List<OrderOutboxEvent> delivered = transactionTemplate.execute(status ->
+                        deliver(orderOutboxRepository.lockById(candidate.getEventId()).stream().toList()));
+                recordPublished(delivered);
+            } catch (RuntimeException e) {
+                anyFailed = true;
+                recordFailure(candidate, e);
+            }
+        }
+        return anyFailed ? 0 : candidates.size();
+    }
+
+    private List<OrderOutboxEvent> deliver(List<OrderOutboxEvent> events) {
+        if (events.isEmpty()) {
+            return events;
+        }
+        events.forEach(eventPublisher::publishEvent);
+        orderOutboxRepository.markPublished(events.stream().map(OrderOutboxEvent::getEventId).toList());
+        return events;
+    }
+
+    private void recordPublished(List<OrderOutboxEvent> events) {
+        OffsetDateTime now = OffsetDateTime.now();
+        published.increment(events.size());
+        events.forEach(event -> lag.record(Duration.between(event.getOccurredAt(), now)));
+    }
+
+    private void recordFailure(OrderOutboxEvent event, RuntimeException e) {
+        failed.increment();
+        int attempts = transactionTemplate.execute(status -> {
+            int count = orderOutboxRepository.recordFailure(event.getEventId());
+            if (count >= maxAttempts) {
+                orderOutboxRepository.markPublished(List.of(event.getEventId()));
+            }
+            return count;
+        });
+        if (attempts >= maxAttempts) {
+            skipped.increment();
+            log.error("Giving up on order event {} ({} of order {}) after {} attempts",
+                    event.getEventId(), event.getStatus(), event.getOrderCode(), attempts, e);
+        } else {
+            log.warn("Order event {} failed (attempt {}/{}): {}", event.getEventId(), attempts, maxAttempts, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.foodapp.realtime;
+
+import com.foodapp.dto.response.OrderStatusUpdate;
+import com.foodapp.event.OrderStatusChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * In-process fan-out of order status changes to Server-Sent Event streams, one topic per
+ * order and one per shop. Changes are taken after commit and offered to each subscriber's
+ * bounded outbox, so a publisher never waits on a client. A small dispatcher pool writes the
+ * outboxes to the sockets. A subscriber whose outbox overflows is disconnected rather than
+ * silently skipping a transition; EventSource reconnects and an order stream starts again
+ * from a fresh snapshot. Idle streams get a comment line every heartbeat interval, which
+ * keeps proxies from closing them and surfaces dead clients.
+ */
+@Slf4j
+@Component
+public class OrderStatusStreamHub {
+
+    static final String STATUS_EVENT = "order-status";
+    static final String SNAPSHOT_EVENT = "snapshot";
+
+    private final Map<String, Set<OrderStreamSubscriber>> subscribersByTopic = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicLong eventSequence = new AtomicLong();
+    private final ExecutorService dispatcher;
+    private final int queueCapacity;
+    private final int maxSubscribers;
+    private final long timeoutMs;
+    private final Counter overflowed;
+    private final Counter delivered;
+
+    public OrderStatusStreamHub(MeterRegistry meterRegistry,
+                                @Value("${app.order-stream.queue-capacity:32}") int queueCapacity,
+                                @Value("${app.order-stream.max-subscribers:10000}") int maxSubscribers,
+                                @Value("${app.order-stream.timeout-ms:1800000}") long timeoutMs,
+                                @Value("${app.order-stream.dispatch-threads:4}") int dispatchThreads) {
+        this.queueCapacity = queueCapacity;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMs = timeoutMs;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(dispatchThreads, runnable -> {
+            Thread thread = new Thread(runnable, "order-stream-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.overflowed = Counter.builder("order.stream.overflowed")
+                .description("Order streams disconnected because the client fell behind")
+                .register(meterRegistry);
+        this.delivered = Counter.builder("order.stream.delivered").register(meterRegistry);
+        Gauge.builder("order.stream.subscribers", subscriberCount, AtomicInteger::get).register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream of one order's status changes, starting with its current status. The
+     * snapshot is read only after the subscriber is registered, so a change committed in
+     * between is either in the snapshot or queued behind it. Empty when the subscriber limit
+     * is reached; an exception from the snapshot read is rethrown.
+     */
+    public Optional<SseEmitter> subscribeOrder(Long orderId, Supplier<OrderStatusUpdate> snapshot) {
+        Optional<OrderStreamSubscriber> registered = register(orderTopic(orderId));
+        if (registered.isEmpty()) {
+            return Optional.empty();
+        }
+        OrderStreamSubscriber subscriber = registered.get();
+        OrderStatusUpdate current;
+        try {
+            current = snapshot.get();
+        } catch (RuntimeException e) {
+            remove(subscriber);
+            throw e;
+        }
+        start(subscriber, new OrderStreamSubscriber.Snapshot(current));
+        return Optional.of(subscriber.emitter());
+    }
+
+    /**
+     * Opens a stream of status changes for every order of a shop. Empty when the subscriber
+     * limit is reached.
+     */
+    public Optional<SseEmitter> subscribeShop(Long shopId) {
+        // An initial comment flushes the response headers so the client sees the stream open
+        Optional<OrderStreamSubscriber> registered = register(shopTopic(shopId));
+        registered.ifPresent(subscriber -> start(subscriber, OrderStreamSubscriber.HEARTBEAT));
+        return registered.map(OrderStreamSubscriber::emitter);
+    }
+
+    // Not on OrderOutboxEvent: the relay adds a hop of latency to a live view that needs no
+    // redelivery, since a stream that misses a change is repaired by the snapshot on reconnect
+    @TransactionalEventListener
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        OrderStatusUpdate update = OrderStatusUpdate.builder()
+                .orderId(event.getOrderId())
+                .orderCode(event.getOrderCode())
+                .customerId(event.getCustomerId())
+                .shopId(event.getShopId())
+                .previousStatus(event.getPreviousStatus())
+                .orderStatus(event.getStatus())
+                .changedAt(event.getChangedAt())
+                .version(event.getVersion())
+                .build();
+        publish(orderTopic(event.getOrderId()), update);
+        publish(shopTopic(event.getShopId()), update);
+    }
+
+    @Scheduled(fixedDelayString = "${app.order-stream.heartbeat-ms:15000}",
+            initialDelayString = "${app.order-stream.heartbeat-ms:15000}")
+    void heartbeat() {
+        subscribersByTopic.values().forEach(subscribers -> subscribers.forEach(subscriber -> {
+            subscriber.offerHeartbeat();
+            scheduleDrain(subscriber);
+        }));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribersByTopic.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.emitter().complete()));
+        dispatcher.shutdownNow();
+    }
+
+    private Optional<OrderStreamSubscriber> register(String topic) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            log.warn("Order stream limit of {} subscribers reached, rejecting {}", maxSubscribers, topic);
+            return Optional.empty();
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        OrderStreamSubscriber subscriber = new OrderStreamSubscriber(topic, emitter, queueCapacity);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+        // Added inside compute so it cannot race with remove() dropping an emptied topic
+        subscribersByTopic.compute(topic, (key, subscribers) -> {
+            Set<OrderStreamSubscriber> set = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+        return Optional.of(subscriber);
+    }
+
+    private void start(OrderStreamSubscriber subscriber, Object first) {
+        if (!subscriber.start(first)) {
+            overflowed.increment();
+            close(subscriber);
+            return;
+        }
+        scheduleDrain(subscriber);
+    }
+
+    private void publish(String topic, OrderStatusUpdate update) {
+        Set<OrderStreamSubscriber> subscribers = subscribersByTopic.get(topic);
+        if (subscribers == null) {
+            return;
+        }
+        for (OrderStreamSubscriber subscriber : subscribers) {
+            if (subscriber.offer(update)) {
+                scheduleDrain(subscriber);
+            } else {
+                overflowed.increment();
+                log.debug("Order stream {} fell behind, disconnecting", topic);
+                close(subscriber);
+            }
+        }
+    }
+
+    private void scheduleDrain(OrderStreamSubscriber subscriber) {
+        if (subscriber.isStarted() && !subscriber.isClosed() && subscriber.tryStartDrain()) {
+            dispatcher.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(OrderStreamSubscriber subscriber) {
+        try {
+            Object message;
+            while (!subscriber.isClosed() && (message = subscriber.poll()) != null) {
+                send(subscriber.emitter(), message);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away or the emitter already completed
+            log.debug("Order stream {} closed: {}", subscriber.topic(), e.getMessage());
+            close(subscriber);
+        } finally {
+            subscriber.endDrain();
+        }
+        // Something may have been offered between the last poll and endDrain
+        if (subscriber.hasPending()) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private void send(SseEmitter emitter, Object message) throws IOException {
+        if (message == OrderStreamSubscriber.HEARTBEAT) {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+        } else if (message instanceof OrderStreamSubscriber.Snapshot snapshot) {
+            emitter.send(SseEmitter.event()
+                    .name(SNAPSHOT_EVENT)
+                    .data(snapshot.update(), MediaType.APPLICATION_JSON));
+        } else {
+            emitter.send(SseEmitter.event()
+                    .id(Long.toString(eventSequence.incrementAndGet()))
+                    .name(STATUS_EVENT)
+                    .data(message, MediaType.APPLICATION_JSON));
+            delivered.increment();
+        }
+    }
+
+    private void close(OrderStreamSubscriber subscriber) {
+        if (remove(subscriber)) {
+            // complete() waits for a send in progress, which must not stall the publisher
+            dispatcher.execute(() -> subscriber.emitter().complete());
+        }
+    }
+
+    private boolean remove(OrderStreamSubscriber subscriber) {
+        if (!subscriber.markClosed()) {
+            return false;
+        }
+        subscribersByTopic.computeIfPresent(subscriber.topic(), (topic, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+        subscriberCount.decrementAndGet();
+        return true;
+    }
+
+    private static String orderTopic(Long orderId) {
+        return "order:" + orderId;
+    }
+
+    private static String shopTopic(Long shopId) {
+        return "shop:" + shopId;
+    }
+}
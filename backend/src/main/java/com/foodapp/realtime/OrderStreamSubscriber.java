@@ -0,0 +1,102 @@
+package com.foodapp.realtime;
+
+import com.foodapp.dto.response.OrderStatusUpdate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One open SSE connection with its own bounded outbox. The hub enqueues without blocking;
+ * at most one dispatcher thread at a time drains the outbox into the emitter. Nothing is
+ * drained until start() has put the first message at the head of the outbox, so updates
+ * queued while an order snapshot was being read still go out after it.
+ */
+class OrderStreamSubscriber {
+
+    static final Object HEARTBEAT = new Object();
+
+    /** Queued in front of the live updates of an order stream. */
+    record Snapshot(OrderStatusUpdate update) {
+    }
+
+    private final String topic;
+    private final SseEmitter emitter;
+    private final BlockingDeque<Object> outbox;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile boolean started;
+    // Updates up to this order version are already in the snapshot
+    private volatile long snapshotVersion = -1;
+
+    OrderStreamSubscriber(String topic, SseEmitter emitter, int queueCapacity) {
+        this.topic = topic;
+        this.emitter = emitter;
+        this.outbox = new LinkedBlockingDeque<>(queueCapacity);
+    }
+
+    String topic() {
+        return topic;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    /** False when the outbox is full. */
+    boolean start(Object first) {
+        if (first instanceof Snapshot snapshot && snapshot.update().getVersion() != null) {
+            snapshotVersion = snapshot.update().getVersion();
+        }
+        boolean queued = outbox.offerFirst(first);
+        started = true;
+        return queued;
+    }
+
+    boolean isStarted() {
+        return started;
+    }
+
+    /** False when the outbox is full, i.e. the client is not keeping up. */
+    boolean offer(Object message) {
+        return outbox.offer(message);
+    }
+
+    // A heartbeat is only useful on an otherwise idle connection
+    void offerHeartbeat() {
+        if (outbox.isEmpty()) {
+            outbox.offer(HEARTBEAT);
+        }
+    }
+
+    Object poll() {
+        Object message = outbox.poll();
+        // Committed before the snapshot was read, so the client already has it
+        while (message instanceof OrderStatusUpdate update && update.getVersion() != null
+                && update.getVersion() <= snapshotVersion) {
+            message = outbox.poll();
+        }
+        return message;
+    }
+
+    boolean hasPending() {
+        return !outbox.isEmpty();
+    }
+
+    boolean tryStartDrain() {
+        return draining.compareAndSet(false, true);
+    }
+
+    void endDrain() {
+        draining.set(false);
+    }
+
+    boolean markClosed() {
+        return closed.compareAndSet(false, true);
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+}
@@ -0,0 +1,73 @@
+package com.foodapp.repository;
+
+import com.foodapp.activity.ActivityEvent;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+@Repository
+@Timed(value = "jdbc.repository.invocations", histogram = true)
+@RequiredArgsConstructor
+public class ActivityLogJdbcRepository {
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    public static final String PARTITION_PREFIX = "activity_logs_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    
+    public static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+    
+    public static YearMonth partitionMonth(String partitionName) {
+        return YearMonth.parse(partitionName.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+    }
+    
+    public List<String> findPartitionNames() {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent " +
+                "WHERE p.relname = 'activity_logs' AND c.relname ~ '^activity_logs_p[0-9]{6}$'",
+                String.class);
+    }
+    
+    // Month bounds are UTC, matching the partitions created by the migrations
+    public void createPartition(YearMonth month) {
+        String from = month.atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC).toString();
+        String to = month.plusMonths(1).atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC).toString();
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(month) +
+                " PARTITION OF activity_logs FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+    }
+    
+    public void dropPartition(YearMonth month) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + partitionName(month));
+    }
+    
+    // One JDBC batch; reWriteBatchedInserts=true turns it into multi-row INSERTs on the wire.
+    // All or nothing, so the writer can retry a failed batch without duplicating rows
+    @Transactional
+    public void insertAll(List<ActivityEvent> events) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO activity_logs (user_id, action, description, ip_address, created_at) VALUES (?, ?, ?, ?, ?)",
+                events, events.size(), (ps, event) -> {
+                    if (event.userId() != null) {
+                        ps.setLong(1, event.userId());
+                    } else {
+                        ps.setNull(1, Types.BIGINT);
+                    }
+                    ps.setString(2, event.action());
+                    ps.setString(3, event.description());
+                    ps.setString(4, event.ipAddress());
+                    ps.setTimestamp(5, Timestamp.from(event.createdAt().toInstant()));
+                });
+    }
+}
@@ -1,17 +1,36 @@
 package com.foodapp.repository;
 
+import com.foodapp.dto.response.ActivityLogResponse;
 import com.foodapp.entity.ActivityLog;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 
 @Repository
 public interface ActivityLogRepository extends JpaRepository<ActivityLog, Long> {
     
-    List<ActivityLog> findByUserId(Long userId);
+    // activity_logs is partitioned by month on created_at; every query carries a created_at
+    // range so Postgres only scans the partitions inside it
+    String RESPONSE_SELECT = "SELECT new com.foodapp.dto.response.ActivityLogResponse(" +
+            "a.id, a.user.id, a.action, a.description, a.ipAddress, a.createdAt) FROM ActivityLog a ";
     
-    List<ActivityLog> findByAction(String action);
+    @Query(RESPONSE_SELECT + "WHERE a.user.id = :userId AND a.createdAt >= :from AND a.createdAt < :to " +
+           "ORDER BY a.createdAt DESC, a.id DESC")
+    List<ActivityLogResponse> findTimeline(@Param("userId") Long userId, @Param("from") OffsetDateTime from,
+            @Param("to") OffsetDateTime to, Pageable pageable);
     
-    List<ActivityLog> findByUserIdOrderByCreatedAtDesc(Long userId);
+    @Query(RESPONSE_SELECT + "WHERE a.user.id = :userId AND a.createdAt >= :from AND a.createdAt <= :createdAt " +
+           "AND (a.createdAt < :createdAt OR a.id < :id) ORDER BY a.createdAt DESC, a.id DESC")
+    List<ActivityLogResponse> findTimelineBefore(@Param("userId") Long userId, @Param("from") OffsetDateTime from,
+            @Param("createdAt") OffsetDateTime createdAt, @Param("id") Long id, Pageable pageable);
+    
+    @Query(RESPONSE_SELECT + "WHERE a.action = :action AND a.createdAt >= :from AND a.createdAt < :to " +
+           "ORDER BY a.createdAt DESC, a.id DESC")
+    List<ActivityLogResponse> findByAction(@Param("action") String action, @Param("from") OffsetDateTime from,
+            @Param("to") OffsetDateTime to, Pageable pageable);
 }
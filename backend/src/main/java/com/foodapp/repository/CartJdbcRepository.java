@@ -0,0 +1,163 @@
+package com.foodapp.repository;
+
+import com.foodapp.dto.response.CartItemResponse;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Plain JDBC access to the cart table for bulk writes that do not need entity state.
+ */
+@Repository
+@Timed(value = "jdbc.repository.invocations", histogram = true)
+@RequiredArgsConstructor
+public class CartJdbcRepository {
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    public record Row(Long id, Long userId, Long shopId, Long foodItemId, int quantity, OffsetDateTime createdAt) {
+    }
+    
+    private static final String SELECT_ITEMS =
+            "SELECT c.id, c.user_id, c.shop_id, s.shop_name, c.food_item_id, f.food_name, f.image, " +
+            "f.price, f.discount_price, c.quantity, c.created_at " +
+            "FROM cart c JOIN food_items f ON f.id = c.food_item_id JOIN shops s ON s.id = c.shop_id ";
+    
+    private static final RowMapper<CartItemResponse> ITEM_MAPPER = (rs, rowNum) -> {
+        BigDecimal price = rs.getBigDecimal("price");
+        BigDecimal discountPrice = rs.getBigDecimal("discount_price");
+        int quantity = rs.getInt("quantity");
+        return CartItemResponse.builder()
+                .id(rs.getLong("id"))
+                .userId(rs.getLong("user_id"))
+                .shopId(rs.getLong("shop_id"))
+                .shopName(rs.getString("shop_name"))
+                .foodItemId(rs.getLong("food_item_id"))
+                .foodName(rs.getString("food_name"))
+                .foodImage(rs.getString("image"))
+                .foodPrice(price)
+                .discountPrice(discountPrice)
+                .quantity(quantity)
+                .subtotal(CartItemResponse.subtotal(price, discountPrice, quantity))
+                .createdAt(rs.getObject("created_at", OffsetDateTime.class))
+                .build();
+    };
+    
+    public List<CartItemResponse> findItemsByUserId(Long userId) {
+        return jdbcTemplate.query(SELECT_ITEMS + "WHERE c.user_id = ? ORDER BY c.id", ITEM_MAPPER, userId);
+    }
+    
+    public List<CartItemResponse> findItemsByUserIdAndShopId(Long userId, Long shopId) {
+        return jdbcTemplate.query(SELECT_ITEMS + "WHERE c.user_id = ? AND c.shop_id = ? ORDER BY c.id", ITEM_MAPPER, userId, shopId);
+    }
+    
+    public Optional<Long> findUserIdById(Long cartId) {
+        return jdbcTemplate.queryForList("SELECT user_id FROM cart WHERE id = ?", Long.class, cartId)
+                .stream().findFirst();
+    }
+    
+    // Reserves a block of ids from the cart sequence in one round trip
+    public List<Long> nextIds(int count) {
+        return jdbcTemplate.queryForList("SELECT nextval('cart_id_seq') FROM generate_series(1, ?)", Long.class, count);
+    }
+    
+    public void upsertAll(Collection<Row> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO cart (id, user_id, shop_id, food_item_id, quantity, created_at) VALUES (?, ?, ?, ?, ?, ?) " +
+                "ON CONFLICT (user_id, shop_id, food_item_id) DO UPDATE SET quantity = EXCLUDED.quantity",
+                rows, rows.size(), (ps, row) -> {
+                    ps.setLong(1, row.id());
+                    ps.setLong(2, row.userId());
+                    ps.setLong(3, row.shopId());
+                    ps.setLong(4, row.foodItemId());
+                    ps.setInt(5, row.quantity());
+                    ps.setTimestamp(6, Timestamp.from(row.createdAt().toInstant()));
+                });
+    }
+    
+    public Row increment(Long userId, Long shopId, Long foodItemId, int quantity) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO cart (user_id, shop_id, food_item_id, quantity) VALUES (?, ?, ?, ?) " +
+                "ON CONFLICT (user_id, shop_id, food_item_id) DO UPDATE SET quantity = cart.quantity + EXCLUDED.quantity " +
+                "RETURNING id, quantity, created_at",
+                (rs, rowNum) -> new Row(rs.getLong("id"), userId, shopId, foodItemId,
+                        rs.getInt("quantity"), rs.getObject("created_at", OffsetDateTime.class)),
+                userId, shopId, foodItemId, quantity);
+    }
+    
+    // Adds each row's quantity to the user's line, creating it if needed
+    public void incrementAll(Long userId, List<Row> rows) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO cart (user_id, shop_id, food_item_id, quantity) VALUES (?, ?, ?, ?) " +
+                "ON CONFLICT (user_id, shop_id, food_item_id) DO UPDATE SET quantity = cart.quantity + EXCLUDED.quantity",
+                rows, rows.size(), (ps, row) -> {
+                    ps.setLong(1, userId);
+                    ps.setLong(2, row.shopId());
+                    ps.setLong(3, row.foodItemId());
+                    ps.setInt(4, row.quantity());
+                });
+    }
+    
+    // Returns the number of rows updated per input row (0 when the line is not the user's)
+    public int[] updateQuantities(Long userId, List<Row> rows) {
+        int[][] counts = jdbcTemplate.batchUpdate(
+                "UPDATE cart SET quantity = ? WHERE id = ? AND user_id = ?",
+                rows, rows.size(), (ps, row) -> {
+                    ps.setInt(1, row.quantity());
+                    ps.setLong(2, row.id());
+                    ps.setLong(3, userId);
+                });
+        return counts.length == 0 ? new int[0] : counts[0];
+    }
+    
+    public int deleteAllByIdAndUserId(Collection<Long> ids, Long userId) {
+        return jdbcTemplate.update("DELETE FROM cart WHERE id = ANY (?) AND user_id = ?", ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids.toArray()));
+            ps.setLong(2, userId);
+        });
+    }
+    
+    /**
+     * Takes checked-out quantities (cart row id -> quantity) off the user's lines and deletes
+     * the lines left empty, so anything added after checkout read the cart stays in it.
+     */
+    public void removeOrdered(Long userId, Map<Long, Integer> ordered) {
+        if (ordered.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<>(ordered.entrySet());
+        jdbcTemplate.batchUpdate(
+                "UPDATE cart SET quantity = quantity - ? WHERE id = ? AND user_id = ?",
+                entries, entries.size(), (ps, entry) -> {
+                    ps.setInt(1, entry.getValue());
+                    ps.setLong(2, entry.getKey());
+                    ps.setLong(3, userId);
+                });
+        jdbcTemplate.update("DELETE FROM cart WHERE id = ANY (?) AND user_id = ? AND quantity <= 0", ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("bigint", ordered.keySet().toArray()));
+            ps.setLong(2, userId);
+        });
+    }
+    
+    public void deleteAllById(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("DELETE FROM cart WHERE id = ANY (?)", ps ->
+                ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids.toArray())));
+    }
+}
@@ -2,6 +2,7 @@ package com.foodapp.repository;
 
 import com.foodapp.entity.Cart;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -20,7 +21,12 @@ public interface CartRepository extends JpaRepository<Cart, Long> {
     
     void deleteByUserId(Long userId);
     
-    void deleteByUserIdAndShopId(Long userId, Long shopId);
+    @Modifying
+    @Query("DELETE FROM Cart c WHERE c.user.id = :userId AND c.shop.id = :shopId")
+    void deleteByUserIdAndShopId(@Param("userId") Long userId, @Param("shopId") Long shopId);
+    
+    @Query("SELECT c FROM Cart c JOIN FETCH c.foodItem WHERE c.user.id = :userId AND c.shop.id = :shopId")
+    List<Cart> findWithFoodItemByUserIdAndShopId(@Param("userId") Long userId, @Param("shopId") Long shopId);
     
     @Query("SELECT DISTINCT c.shop.id FROM Cart c WHERE c.user.id = :userId")
     List<Long> findDistinctShopIdsByUserId(@Param("userId") Long userId);
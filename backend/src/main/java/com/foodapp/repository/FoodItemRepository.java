@@ -1,11 +1,13 @@
 package com.foodapp.repository;
 
 import com.foodapp.entity.FoodItem;
+import com.foodapp.entity.enums.ShopStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -17,9 +19,14 @@ public interface FoodItemRepository extends JpaRepository<FoodItem, Long> {
     
     List<FoodItem> findByShopIdAndCategoryId(Long shopId, Long categoryId);
     
+    List<FoodItem> findByShopStatus(ShopStatus status);
+    
     @Query("SELECT f FROM FoodItem f WHERE LOWER(f.foodName) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     List<FoodItem> searchByName(@Param("keyword") String keyword);
     
+    @Query("SELECT f FROM FoodItem f JOIN FETCH f.shop JOIN FETCH f.category WHERE f.id IN :ids")
+    List<FoodItem> findWithShopAndCategoryByIdIn(@Param("ids") Collection<Long> ids);
+    
     @Query("SELECT f FROM FoodItem f WHERE f.shop.id = :shopId ORDER BY f.createdAt DESC")
     List<FoodItem> findByShopIdOrderByCreatedAtDesc(@Param("shopId") Long shopId);
 }
@@ -0,0 +1,41 @@
+package com.foodapp.repository;
+
+import com.foodapp.entity.Notification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface NotificationRepository extends JpaRepository<Notification, Long> {
+    
+    List<Notification> findByUserIdOrderByIdDesc(Long userId, Pageable pageable);
+    
+    long countByUserIdAndIsReadFalse(Long userId);
+    
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.id = :id AND n.userId = :userId AND n.isRead = false")
+    int markRead(@Param("userId") Long userId, @Param("id") Long id);
+    
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.userId = :userId AND n.isRead = false")
+    int markAllRead(@Param("userId") Long userId);
+    
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.id = :id AND n.userId = :userId")
+    int deleteByUserIdAndId(@Param("userId") Long userId, @Param("id") Long id);
+    
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+    
+    // Drops everything older than the user's newest `keep` notifications
+    @Modifying
+    @Query(value = "DELETE FROM notifications WHERE user_id = :userId AND id <= (SELECT id FROM notifications " +
+                   "WHERE user_id = :userId ORDER BY id DESC OFFSET :keep ROWS FETCH FIRST 1 ROW ONLY)", nativeQuery = true)
+    int trimToNewest(@Param("userId") Long userId, @Param("keep") int keep);
+}
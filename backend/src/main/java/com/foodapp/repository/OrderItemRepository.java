@@ -2,8 +2,11 @@ package com.foodapp.repository;
 
 import com.foodapp.entity.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -12,4 +15,11 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     List<OrderItem> findByOrderId(Long orderId);
     
     List<OrderItem> findByFoodItemId(Long foodItemId);
+    
+    // Popularity per food item as rows of [foodItemId, total quantity ordered]
+    @Query("SELECT oi.foodItem.id, SUM(oi.quantity) FROM OrderItem oi GROUP BY oi.foodItem.id")
+    List<Object[]> sumQuantityGroupByFoodItem();
+    
+    @Query("SELECT oi FROM OrderItem oi JOIN FETCH oi.foodItem WHERE oi.order.id IN :orderIds ORDER BY oi.id")
+    List<OrderItem> findWithFoodItemByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
 }
@@ -0,0 +1,36 @@
+package com.foodapp.repository;
+
+import com.foodapp.dto.response.OrderStatusUpdate;
+import com.foodapp.entity.enums.OrderStatus;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Plain JDBC reads on orders for callers that must not go through the request's
+ * EntityManager, e.g. long-lived streams that would otherwise hold its connection.
+ */
+@Repository
+@Timed(value = "jdbc.repository.invocations", histogram = true)
+@RequiredArgsConstructor
+public class OrderJdbcRepository {
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    public Optional<OrderStatusUpdate> findStatus(Long orderId) {
+        return jdbcTemplate.query(
+                "SELECT id, order_code, customer_id, shop_id, order_status, version FROM orders WHERE id = ?",
+                (rs, rowNum) -> OrderStatusUpdate.builder()
+                        .orderId(rs.getLong("id"))
+                        .orderCode(rs.getString("order_code"))
+                        .customerId(rs.getLong("customer_id"))
+                        .shopId(rs.getLong("shop_id"))
+                        .orderStatus(OrderStatus.valueOf(rs.getString("order_status")))
+                        .version(rs.getLong("version"))
+                        .build(),
+                orderId).stream().findFirst();
+    }
+}
@@ -0,0 +1,91 @@
+package com.foodapp.repository;
+
+import com.foodapp.entity.enums.OrderStatus;
+import com.foodapp.event.OrderOutboxEvent;
+import com.foodapp.event.OrderStatusChangedEvent;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The order_events outbox. Rows are appended inside the order's transaction and claimed by
+ * OrderOutboxRelay with row locks, so several backend instances can drain it concurrently.
+ */
+@Repository
+@Timed(value = "jdbc.repository.invocations", histogram = true)
+@RequiredArgsConstructor
+public class OrderOutboxRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private static final String SELECT_EVENT =
+            "SELECT e.id, e.order_id, e.order_code, e.customer_id, e.shop_id, e.shop_owner_id, e.previous_status, e.order_status, " +
+            "e.created_at, e.attempts FROM order_events e ";
+
+    private static final RowMapper<OrderOutboxEvent> EVENT_MAPPER = (rs, rowNum) -> {
+        String previous = rs.getString("previous_status");
+        return new OrderOutboxEvent(
+                rs.getLong("id"),
+                rs.getLong("order_id"),
+                rs.getString("order_code"),
+                rs.getLong("customer_id"),
+                rs.getLong("shop_id"),
+                rs.getObject("shop_owner_id", Long.class),
+                previous != null ? OrderStatus.valueOf(previous) : null,
+                OrderStatus.valueOf(rs.getString("order_status")),
+                rs.getObject("created_at", OffsetDateTime.class),
+                rs.getInt("attempts"));
+    };
+
+    public void append(OrderStatusChangedEvent event) {
+        jdbcTemplate.update(
+                "INSERT INTO order_events (order_id, order_code, customer_id, shop_id, shop_owner_id, previous_status, " +
+                "order_status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                event.getOrderId(), event.getOrderCode(), event.getCustomerId(), event.getShopId(), event.getShopOwnerId(),
+                event.getPreviousStatus() != null ? event.getPreviousStatus().name() : null,
+                event.getStatus().name(), Timestamp.from(event.getChangedAt().toInstant()));
+    }
+
+    /**
+     * Locks the oldest unpublished events, skipping rows another relay holds. An event is only
+     * eligible once every earlier event of its order is published; a locked earlier event still
+     * counts as unpublished, which keeps each order's events in sequence across relays.
+     */
+    public List<OrderOutboxEvent> lockNextBatch(int limit) {
+        return jdbcTemplate.query(SELECT_EVENT +
+                "WHERE e.published_at IS NULL AND NOT EXISTS (SELECT 1 FROM order_events p " +
+                "WHERE p.order_id = e.order_id AND p.published_at IS NULL AND p.id < e.id) " +
+                "ORDER BY e.id LIMIT ? FOR UPDATE SKIP LOCKED", EVENT_MAPPER, limit);
+    }
+
+    public Optional<OrderOutboxEvent> lockById(Long id) {
+        return jdbcTemplate.query(SELECT_EVENT + "WHERE e.id = ? AND e.published_at IS NULL FOR UPDATE SKIP LOCKED",
+                EVENT_MAPPER, id).stream().findFirst();
+    }
+
+    public void markPublished(Collection<Long> ids) {
+        namedParameterJdbcTemplate.update("UPDATE order_events SET published_at = NOW() WHERE id IN (:ids)",
+                Map.of("ids", ids));
+    }
+
+    // Returns the attempt count after this failure
+    public int recordFailure(Long id) {
+        jdbcTemplate.update("UPDATE order_events SET attempts = attempts + 1 WHERE id = ?", id);
+        return jdbcTemplate.queryForObject("SELECT attempts FROM order_events WHERE id = ?", Integer.class, id);
+    }
+
+    public int deletePublishedBefore(OffsetDateTime cutoff) {
+        return jdbcTemplate.update("DELETE FROM order_events WHERE published_at < ?", Timestamp.from(cutoff.toInstant()));
+    }
+}
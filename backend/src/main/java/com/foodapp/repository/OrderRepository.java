@@ -2,11 +2,13 @@ package com.foodapp.repository;
 
 import com.foodapp.entity.Order;
 import com.foodapp.entity.enums.OrderStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,4 +30,37 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     
     @Query("SELECT o FROM Order o WHERE o.shop.id = :shopId ORDER BY o.createdAt DESC")
     List<Order> findByShopIdOrderByCreatedAtDesc(@Param("shopId") Long shopId);
+    
+    // Popularity per shop as rows of [shopId, order count]
+    @Query("SELECT o.shop.id, COUNT(o) FROM Order o GROUP BY o.shop.id")
+    List<Object[]> countGroupByShop();
+    
+    // Customer and shop are fetched in the same statement so mapping a page stays constant in queries.
+    // Keyset pages on (created_at, id): first page, then everything strictly older than the cursor.
+    // The created_at <= :createdAt bound lets Postgres seek on idx_orders_*_created_id instead of filtering.
+    @Query("SELECT o FROM Order o JOIN FETCH o.customer JOIN FETCH o.shop " +
+           "WHERE o.customer.id = :customerId ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findPageByCustomerId(@Param("customerId") Long customerId, Pageable pageable);
+    
+    @Query("SELECT o FROM Order o JOIN FETCH o.customer JOIN FETCH o.shop " +
+           "WHERE o.customer.id = :customerId AND o.createdAt <= :createdAt " +
+           "AND (o.createdAt < :createdAt OR o.id < :id) ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findPageByCustomerIdBefore(@Param("customerId") Long customerId,
+            @Param("createdAt") OffsetDateTime createdAt, @Param("id") Long id, Pageable pageable);
+    
+    @Query("SELECT o FROM Order o JOIN FETCH o.customer JOIN FETCH o.shop " +
+           "WHERE o.shop.id = :shopId ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findPageByShopId(@Param("shopId") Long shopId, Pageable pageable);
+    
+    @Query("SELECT o FROM Order o JOIN FETCH o.customer JOIN FETCH o.shop " +
+           "WHERE o.shop.id = :shopId AND o.createdAt <= :createdAt " +
+           "AND (o.createdAt < :createdAt OR o.id < :id) ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findPageByShopIdBefore(@Param("shopId") Long shopId,
+            @Param("createdAt") OffsetDateTime createdAt, @Param("id") Long id, Pageable pageable);
+    
+    @Query("SELECT o FROM Order o JOIN FETCH o.customer JOIN FETCH o.shop WHERE o.id = :id")
+    Optional<Order> findWithPartiesById(@Param("id") Long id);
+    
+    @Query("SELECT o FROM Order o JOIN FETCH o.customer JOIN FETCH o.shop WHERE o.orderCode = :orderCode")
+    Optional<Order> findWithPartiesByOrderCode(@Param("orderCode") String orderCode);
 }
@@ -0,0 +1,20 @@
+package com.foodapp.repository;
+
+import com.foodapp.dto.response.OrderStatusHistoryResponse;
+import com.foodapp.entity.OrderStatusHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OrderStatusHistoryRepository extends JpaRepository<OrderStatusHistory, Long> {
+    
+    // Served by idx_order_status_history_order_id (order_id, id); no join, the ids are the FK columns
+    @Query("SELECT new com.foodapp.dto.response.OrderStatusHistoryResponse(" +
+           "h.id, h.order.id, h.previousStatus, h.orderStatus, h.changedBy.id, h.note, h.changedAt) " +
+           "FROM OrderStatusHistory h WHERE h.order.id = :orderId ORDER BY h.id")
+    List<OrderStatusHistoryResponse> findTimeline(@Param("orderId") Long orderId);
+}
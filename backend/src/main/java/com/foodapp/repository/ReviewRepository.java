@@ -1,11 +1,14 @@
 package com.foodapp.repository;
 
+import com.foodapp.dto.response.ReviewResponse;
 import com.foodapp.entity.Review;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,8 +21,22 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     
     Optional<Review> findByOrderId(Long orderId);
     
-    @Query("SELECT r FROM Review r WHERE r.shop.id = :shopId ORDER BY r.createdAt DESC")
-    List<Review> findByShopIdOrderByCreatedAtDesc(@Param("shopId") Long shopId);
+    // ReviewResponse projections: one statement, only the columns the DTO needs.
+    // Order and shop ids come from the review's own foreign keys; only users is joined.
+    String REVIEW_RESPONSE_SELECT = "SELECT new com.foodapp.dto.response.ReviewResponse(" +
+            "r.id, r.order.id, c.id, c.fullName, c.avatar, r.shop.id, r.rating, r.comment, r.images, " +
+            "r.shopReply, r.repliedAt, r.createdAt) FROM Review r JOIN r.customer c ";
+    
+    @Query(REVIEW_RESPONSE_SELECT + "WHERE r.shop.id = :shopId ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewResponse> findResponsePageByShopId(@Param("shopId") Long shopId, Pageable pageable);
+    
+    @Query(REVIEW_RESPONSE_SELECT + "WHERE r.shop.id = :shopId AND r.createdAt <= :createdAt " +
+           "AND (r.createdAt < :createdAt OR r.id < :id) ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewResponse> findResponsePageByShopIdBefore(@Param("shopId") Long shopId,
+            @Param("createdAt") OffsetDateTime createdAt, @Param("id") Long id, Pageable pageable);
+    
+    @Query(REVIEW_RESPONSE_SELECT + "WHERE c.id = :customerId ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewResponse> findResponsesByCustomerId(@Param("customerId") Long customerId);
     
     @Query("SELECT AVG(r.rating) FROM Review r WHERE r.shop.id = :shopId")
     Double getAverageRatingByShopId(@Param("shopId") Long shopId);
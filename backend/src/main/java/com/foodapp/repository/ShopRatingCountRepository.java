@@ -0,0 +1,44 @@
+package com.foodapp.repository;
+
+import com.foodapp.entity.ShopRatingCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ShopRatingCountRepository extends JpaRepository<ShopRatingCount, Long> {
+    
+    // Add delta to the counter of one star, creating the row on the shop's first review
+    @Modifying
+    @Query(value = "INSERT INTO shop_rating_counts (shop_id, rating_1, rating_2, rating_3, rating_4, rating_5) " +
+                   "VALUES (:shopId, " +
+                   "CASE WHEN :star = 1 THEN :delta ELSE 0 END, CASE WHEN :star = 2 THEN :delta ELSE 0 END, " +
+                   "CASE WHEN :star = 3 THEN :delta ELSE 0 END, CASE WHEN :star = 4 THEN :delta ELSE 0 END, " +
+                   "CASE WHEN :star = 5 THEN :delta ELSE 0 END) " +
+                   "ON CONFLICT (shop_id) DO UPDATE SET " +
+                   "rating_1 = shop_rating_counts.rating_1 + EXCLUDED.rating_1, " +
+                   "rating_2 = shop_rating_counts.rating_2 + EXCLUDED.rating_2, " +
+                   "rating_3 = shop_rating_counts.rating_3 + EXCLUDED.rating_3, " +
+                   "rating_4 = shop_rating_counts.rating_4 + EXCLUDED.rating_4, " +
+                   "rating_5 = shop_rating_counts.rating_5 + EXCLUDED.rating_5", nativeQuery = true)
+    int applyDelta(@Param("shopId") Long shopId, @Param("star") int star, @Param("delta") int delta);
+    
+    // Recompute every shop's histogram from reviews, rewriting only the rows that drifted
+    @Modifying
+    @Query(value = "INSERT INTO shop_rating_counts (shop_id, rating_1, rating_2, rating_3, rating_4, rating_5) " +
+                   "SELECT s.id, " +
+                   "COUNT(r.id) FILTER (WHERE r.rating = 1), COUNT(r.id) FILTER (WHERE r.rating = 2), " +
+                   "COUNT(r.id) FILTER (WHERE r.rating = 3), COUNT(r.id) FILTER (WHERE r.rating = 4), " +
+                   "COUNT(r.id) FILTER (WHERE r.rating = 5) " +
+                   "FROM shops s LEFT JOIN reviews r ON r.shop_id = s.id GROUP BY s.id " +
+                   "ON CONFLICT (shop_id) DO UPDATE SET " +
+                   "rating_1 = EXCLUDED.rating_1, rating_2 = EXCLUDED.rating_2, rating_3 = EXCLUDED.rating_3, " +
+                   "rating_4 = EXCLUDED.rating_4, rating_5 = EXCLUDED.rating_5 " +
+                   "WHERE (shop_rating_counts.rating_1, shop_rating_counts.rating_2, shop_rating_counts.rating_3, " +
+                   "shop_rating_counts.rating_4, shop_rating_counts.rating_5) IS DISTINCT FROM " +
+                   "(EXCLUDED.rating_1, EXCLUDED.rating_2, EXCLUDED.rating_3, EXCLUDED.rating_4, EXCLUDED.rating_5)",
+           nativeQuery = true)
+    int reconcile();
+}
@@ -3,10 +3,12 @@ package com.foodapp.repository;
 import com.foodapp.entity.Shop;
 import com.foodapp.entity.enums.ShopStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -22,6 +24,32 @@ public interface ShopRepository extends JpaRepository<Shop, Long> {
     @Query("SELECT s FROM Shop s WHERE s.status = 'active' AND LOWER(s.shopName) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     List<Shop> searchByName(@Param("keyword") String keyword);
     
+    @Query("SELECT DISTINCT s FROM Shop s LEFT JOIN FETCH s.shopCategories sc LEFT JOIN FETCH sc.category " +
+           "WHERE s.id IN :ids AND s.status = 'active'")
+    List<Shop> findActiveWithCategoriesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // O(1) rating delta; the row lock of the UPDATE makes concurrent deltas safe
+    @Modifying
+    @Query(value = "UPDATE shops SET rating_sum = rating_sum + :sumDelta, " +
+                   "total_reviews = total_reviews + :countDelta, " +
+                   "rating_average = CASE WHEN total_reviews + :countDelta > 0 " +
+                   "THEN ROUND(CAST(rating_sum + :sumDelta AS numeric) / (total_reviews + :countDelta), 1) ELSE 0 END " +
+                   "WHERE id = :shopId", nativeQuery = true)
+    int applyRatingDelta(@Param("shopId") Long shopId, @Param("sumDelta") long sumDelta,
+            @Param("countDelta") int countDelta);
+    
+    // Recompute rating aggregates from reviews and fix only the shops that drifted
+    @Modifying
+    @Query(value = "UPDATE shops s SET rating_sum = agg.rating_sum, total_reviews = agg.review_count, " +
+                   "rating_average = CASE WHEN agg.review_count > 0 " +
+                   "THEN ROUND(CAST(agg.rating_sum AS numeric) / agg.review_count, 1) ELSE 0 END " +
+                   "FROM (SELECT s2.id AS shop_id, COALESCE(SUM(r.rating), 0) AS rating_sum, COUNT(r.id) AS review_count " +
+                   "      FROM shops s2 LEFT JOIN reviews r ON r.shop_id = s2.id GROUP BY s2.id) agg " +
+                   "WHERE s.id = agg.shop_id " +
+                   "AND (s.rating_sum <> agg.rating_sum OR COALESCE(s.total_reviews, -1) <> agg.review_count)",
+           nativeQuery = true)
+    int reconcileRatings();
+    
     @Query("SELECT s FROM Shop s JOIN s.shopCategories sc WHERE sc.category.id = :categoryId AND s.status = 'active'")
     List<Shop> findByCategoryId(@Param("categoryId") Long categoryId);
 }
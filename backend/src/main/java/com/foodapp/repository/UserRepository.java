@@ -3,7 +3,11 @@ package com.foodapp.repository;
 import com.foodapp.entity.User;
 import com.foodapp.entity.enums.UserRole;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -24,4 +28,11 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsBySupabaseUid(String supabaseUid);
     
     List<User> findByUserRole(UserRole userRole);
+    
+    // Compare-and-set: 0 when the stored hash is no longer the one the caller verified
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id AND u.password = :expectedPassword")
+    int replacePassword(@Param("id") Long id, @Param("expectedPassword") String expectedPassword,
+                        @Param("password") String password);
 }
@@ -0,0 +1,118 @@
+package com.foodapp.search;
+
+import com.foodapp.entity.FoodItem;
+import com.foodapp.entity.Shop;
+import com.foodapp.event.CategoryChangedEvent;
+import com.foodapp.event.FoodItemChangedEvent;
+import com.foodapp.event.ShopChangedEvent;
+import com.foodapp.repository.FoodItemRepository;
+import com.foodapp.repository.ShopRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Accent-folded inverted indexes over food items (name, description) and shops (name).
+ * <p>
+ * Loaded once when the application is ready and kept current from the catalog change events
+ * published by FoodItemService, ShopService and CategoryService. Until the initial load has
+ * finished {@link #isReady()} is false and callers should fall back to the database search.
+ * A full reload builds a new index and swaps it in, so searches keep using the old one meanwhile.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogSearchIndex {
+    
+    private static final float FOOD_NAME_WEIGHT = 2f;
+    private static final float FOOD_DESCRIPTION_WEIGHT = 1f;
+    private static final float SHOP_NAME_WEIGHT = 1f;
+    
+    private final FoodItemRepository foodItemRepository;
+    private final ShopRepository shopRepository;
+    
+    // Serializes food item updates with a reload so none is applied to an index about to be replaced
+    private final Object foodItemsLock = new Object();
+    
+    private volatile InvertedIndex foodItems = new InvertedIndex();
+    private volatile InvertedIndex shops = new InvertedIndex();
+    
+    private volatile boolean ready;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            reloadFoodItems();
+            InvertedIndex loadedShops = new InvertedIndex();
+            shopRepository.findAll().forEach(shop -> indexShop(loadedShops, shop));
+            shops = loadedShops;
+            ready = true;
+            log.info("Search index loaded: {} food items, {} shops", foodItems.size(), shops.size());
+        } catch (RuntimeException e) {
+            log.error("Search index load failed, falling back to database search", e);
+        }
+    }
+    
+    public boolean isReady() {
+        return ready;
+    }
+    
+    public List<Long> searchFoodItems(String keyword, int limit) {
+        return foodItems.search(keyword, limit);
+    }
+    
+    public List<Long> searchShops(String keyword, int limit) {
+        return shops.search(keyword, limit);
+    }
+    
+    @TransactionalEventListener
+    public void onFoodItemChanged(FoodItemChangedEvent event) {
+        synchronized (foodItemsLock) {
+            if (event.isDeleted()) {
+                foodItems.remove(event.getFoodItemId());
+                return;
+            }
+            foodItemRepository.findById(event.getFoodItemId()).ifPresentOrElse(
+                    foodItem -> indexFoodItem(foodItems, foodItem),
+                    () -> foodItems.remove(event.getFoodItemId()));
+        }
+    }
+    
+    @TransactionalEventListener
+    public void onShopChanged(ShopChangedEvent event) {
+        shopRepository.findById(event.getShopId()).ifPresentOrElse(
+                shop -> indexShop(shops, shop),
+                () -> shops.remove(event.getShopId()));
+    }
+    
+    @TransactionalEventListener
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        // Deleting a category cascades to its food items in the database
+        if (event.isDeleted()) {
+            reloadFoodItems();
+        }
+    }
+    
+    private void reloadFoodItems() {
+        synchronized (foodItemsLock) {
+            InvertedIndex loaded = new InvertedIndex();
+            foodItemRepository.findAll().forEach(foodItem -> indexFoodItem(loaded, foodItem));
+            foodItems = loaded;
+        }
+    }
+    
+    private void indexFoodItem(InvertedIndex index, FoodItem foodItem) {
+        index.put(foodItem.getId(), List.of(
+                new InvertedIndex.Field(foodItem.getFoodName(), FOOD_NAME_WEIGHT),
+                new InvertedIndex.Field(foodItem.getFoodDescription(), FOOD_DESCRIPTION_WEIGHT)));
+    }
+    
+    private void indexShop(InvertedIndex index, Shop shop) {
+        index.put(shop.getId(), List.of(new InvertedIndex.Field(shop.getShopName(), SHOP_NAME_WEIGHT)));
+    }
+}
@@ -0,0 +1,112 @@
+package com.foodapp.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory inverted index from folded tokens to document ids with a per-field weight.
+ * <p>
+ * The token dictionary is sorted, so a query term also matches tokens it is a prefix of
+ * ("pho" matches "pho", "ph" matches "pho" and "phomai"). Prefix matches score lower than exact ones.
+ * Reads are lock free; writes are serialized and replace a document's postings as a whole.
+ */
+public class InvertedIndex {
+    
+    private static final float PREFIX_MATCH_FACTOR = 0.5f;
+    
+    // token -> (docId -> weight)
+    private final ConcurrentSkipListMap<String, Map<Long, Float>> postings = new ConcurrentSkipListMap<>();
+    // docId -> (token -> weight), needed to remove a document's old postings
+    private final Map<Long, Map<String, Float>> documents = new ConcurrentHashMap<>();
+    
+    /**
+     * A piece of document text and how much a match in it is worth.
+     */
+    public record Field(String text, float weight) {
+    }
+    
+    /**
+     * Index (or re-index) a document. A token found in several fields keeps the highest weight.
+     */
+    public synchronized void put(Long docId, List<Field> fields) {
+        remove(docId);
+        
+        Map<String, Float> tokens = new HashMap<>();
+        for (Field field : fields) {
+            for (String token : TextNormalizer.tokenize(field.text())) {
+                tokens.merge(token, field.weight(), Math::max);
+            }
+        }
+        if (tokens.isEmpty()) {
+            return;
+        }
+        
+        tokens.forEach((token, weight) ->
+                postings.computeIfAbsent(token, t -> new ConcurrentHashMap<>()).put(docId, weight));
+        documents.put(docId, tokens);
+    }
+    
+    public synchronized void remove(Long docId) {
+        Map<String, Float> tokens = documents.remove(docId);
+        if (tokens == null) {
+            return;
+        }
+        for (String token : tokens.keySet()) {
+            Map<Long, Float> docs = postings.get(token);
+            if (docs != null) {
+                docs.remove(docId);
+                if (docs.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+    }
+    
+    public int size() {
+        return documents.size();
+    }
+    
+    /**
+     * Ranked multi-term search. Documents matching more query terms rank first,
+     * ties are broken by the summed field weights, then by id for a stable order.
+     */
+    public List<Long> search(String query, int limit) {
+        List<String> terms = TextNormalizer.tokenize(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        
+        Map<Long, float[]> hits = new HashMap<>(); // docId -> {matched terms, score}
+        for (String term : terms.stream().distinct().toList()) {
+            Map<Long, Float> termScores = new HashMap<>();
+            ConcurrentNavigableMap<String, Map<Long, Float>> matches =
+                    postings.subMap(term, true, term + Character.MAX_VALUE, false);
+            matches.forEach((token, docs) -> {
+                float factor = token.equals(term) ? 1f : PREFIX_MATCH_FACTOR;
+                docs.forEach((docId, weight) -> termScores.merge(docId, weight * factor, Math::max));
+            });
+            termScores.forEach((docId, score) -> {
+                float[] hit = hits.computeIfAbsent(docId, id -> new float[2]);
+                hit[0] += 1;
+                hit[1] += score;
+            });
+        }
+        
+        List<Map.Entry<Long, float[]>> ranked = new ArrayList<>(hits.entrySet());
+        ranked.sort(Comparator.<Map.Entry<Long, float[]>>comparingDouble(e -> -e.getValue()[0])
+                .thenComparingDouble(e -> -e.getValue()[1])
+                .thenComparing(Map.Entry::getKey));
+        
+        List<Long> result = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (int i = 0; i < ranked.size() && i < limit; i++) {
+            result.add(ranked.get(i).getKey());
+        }
+        return result;
+    }
+}
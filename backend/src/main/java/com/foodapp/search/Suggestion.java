@@ -0,0 +1,14 @@
+package com.foodapp.search;
+
+/**
+ * One autocomplete candidate. Weight is a popularity score, higher ranks first.
+ */
+public record Suggestion(String type, Long id, String text, long weight) {
+    
+    public static final String TYPE_FOOD = "food";
+    public static final String TYPE_SHOP = "shop";
+    
+    boolean sameTarget(Suggestion other) {
+        return type.equals(other.type) && id.equals(other.id);
+    }
+}
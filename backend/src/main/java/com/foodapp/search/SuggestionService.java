@@ -0,0 +1,139 @@
+package com.foodapp.search;
+
+import com.foodapp.entity.FoodItem;
+import com.foodapp.entity.Shop;
+import com.foodapp.entity.enums.ShopStatus;
+import com.foodapp.event.CategoryChangedEvent;
+import com.foodapp.event.FoodItemChangedEvent;
+import com.foodapp.event.ShopChangedEvent;
+import com.foodapp.repository.FoodItemRepository;
+import com.foodapp.repository.OrderItemRepository;
+import com.foodapp.repository.OrderRepository;
+import com.foodapp.repository.ShopRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Prefix autocomplete over food and shop names.
+ * <p>
+ * Suggestions come from an immutable {@link SuggestionTrie} that is rebuilt in the background and
+ * swapped in atomically, so lookups never lock. Food items are weighted by the quantity ordered in
+ * order_items and shops by their order count. Catalog writes mark the trie stale and the next
+ * scheduled tick rebuilds it; popularity is refreshed every {@link #POPULARITY_REFRESH_MS}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SuggestionService {
+    
+    public static final int DEFAULT_LIMIT = 8;
+    
+    // Bounds the trie: only the most popular names are kept, each under at most 3 word offsets
+    private static final int MAX_NAMES = 20_000;
+    private static final int MAX_SUFFIXES_PER_NAME = 3;
+    private static final long POPULARITY_REFRESH_MS = 10 * 60 * 1000L;
+    
+    private final FoodItemRepository foodItemRepository;
+    private final ShopRepository shopRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final OrderRepository orderRepository;
+    
+    private volatile SuggestionTrie trie = SuggestionTrie.empty();
+    private volatile long lastBuiltAt;
+    private final AtomicBoolean stale = new AtomicBoolean(true);
+    
+    public List<Suggestion> suggest(String prefix, Integer limit) {
+        int size = limit == null || limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, SuggestionTrie.TOP_K);
+        return trie.lookup(String.join(" ", TextNormalizer.tokenize(prefix)), size);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        rebuild();
+    }
+    
+    @Scheduled(fixedDelay = 30_000, initialDelay = 30_000)
+    public void refreshIfNeeded() {
+        if (stale.get() || System.currentTimeMillis() - lastBuiltAt > POPULARITY_REFRESH_MS) {
+            rebuild();
+        }
+    }
+    
+    @TransactionalEventListener
+    public void onFoodItemChanged(FoodItemChangedEvent event) {
+        stale.set(true);
+    }
+    
+    @TransactionalEventListener
+    public void onShopChanged(ShopChangedEvent event) {
+        stale.set(true);
+    }
+    
+    @TransactionalEventListener
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        stale.set(true);
+    }
+    
+    synchronized void rebuild() {
+        stale.set(false);
+        try {
+            Map<Long, Long> foodPopularity = toCounts(orderItemRepository.sumQuantityGroupByFoodItem());
+            Map<Long, Long> shopPopularity = toCounts(orderRepository.countGroupByShop());
+            
+            // Only what can be ordered: items of active shops. Weight 1 baseline so items
+            // nobody ordered yet can still be suggested
+            List<Suggestion> names = new ArrayList<>();
+            for (FoodItem foodItem : foodItemRepository.findByShopStatus(ShopStatus.active)) {
+                names.add(new Suggestion(Suggestion.TYPE_FOOD, foodItem.getId(), foodItem.getFoodName(),
+                        1 + foodPopularity.getOrDefault(foodItem.getId(), 0L)));
+            }
+            for (Shop shop : shopRepository.findByStatus(ShopStatus.active)) {
+                names.add(new Suggestion(Suggestion.TYPE_SHOP, shop.getId(), shop.getShopName(),
+                        1 + shopPopularity.getOrDefault(shop.getId(), 0L)));
+            }
+            
+            SuggestionTrie.Builder builder = new SuggestionTrie.Builder();
+            names.stream()
+                    .sorted(Comparator.comparingLong(Suggestion::weight).reversed())
+                    .limit(MAX_NAMES)
+                    .forEach(suggestion -> addKeys(builder, suggestion));
+            
+            trie = builder.build();
+            lastBuiltAt = System.currentTimeMillis();
+            log.debug("Suggestion trie rebuilt with {} keys", trie.keyCount());
+        } catch (RuntimeException e) {
+            stale.set(true);
+            log.error("Suggestion trie rebuild failed, keeping the previous one", e);
+        }
+    }
+    
+    /**
+     * Index the whole name and the names starting at its next words, so "bo" finds "Phở bò".
+     */
+    private void addKeys(SuggestionTrie.Builder builder, Suggestion suggestion) {
+        List<String> tokens = TextNormalizer.tokenize(suggestion.text());
+        for (int start = 0; start < tokens.size() && start < MAX_SUFFIXES_PER_NAME; start++) {
+            builder.add(String.join(" ", tokens.subList(start, tokens.size())), suggestion);
+        }
+    }
+    
+    private Map<Long, Long> toCounts(List<Object[]> rows) {
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,177 @@
+package com.foodapp.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable radix trie over folded keys where every node stores its own top-k completions.
+ * <p>
+ * A lookup walks at most prefix-length characters and returns the precomputed list, so its cost
+ * does not depend on how many keys share the prefix. Memory is bounded by the number of keys,
+ * {@link #MAX_KEY_LENGTH} and {@link #TOP_K} references per node. Rebuild to change it.
+ */
+public final class SuggestionTrie {
+    
+    public static final int TOP_K = 10;
+    public static final int MAX_KEY_LENGTH = 48;
+    
+    private static final Comparator<Suggestion> BY_WEIGHT = Comparator.comparingLong(Suggestion::weight).reversed()
+            .thenComparing(Suggestion::text);
+    
+    private static final SuggestionTrie EMPTY = new SuggestionTrie(new Node(new char[0], new String[0], new Node[0], new Suggestion[0]), 0);
+    
+    private final Node root;
+    private final int keyCount;
+    
+    private SuggestionTrie(Node root, int keyCount) {
+        this.root = root;
+        this.keyCount = keyCount;
+    }
+    
+    public static SuggestionTrie empty() {
+        return EMPTY;
+    }
+    
+    public int keyCount() {
+        return keyCount;
+    }
+    
+    /**
+     * Top suggestions for an already folded prefix, best first.
+     */
+    public List<Suggestion> lookup(String prefix, int limit) {
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+        Node node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            int edge = node.edgeIndex(prefix.charAt(i));
+            if (edge < 0) {
+                return List.of();
+            }
+            String label = node.labels[edge];
+            int common = Math.min(label.length(), prefix.length() - i);
+            if (!prefix.regionMatches(i, label, 0, common)) {
+                return List.of();
+            }
+            i += common;
+            node = node.children[edge];
+        }
+        int size = Math.min(limit, node.top.length);
+        List<Suggestion> result = new ArrayList<>(size);
+        for (int k = 0; k < size; k++) {
+            result.add(node.top[k]);
+        }
+        return result;
+    }
+    
+    private static final class Node {
+        private final char[] firstChars; // sorted, for binary search
+        private final String[] labels;
+        private final Node[] children;
+        private final Suggestion[] top;
+        
+        private Node(char[] firstChars, String[] labels, Node[] children, Suggestion[] top) {
+            this.firstChars = firstChars;
+            this.labels = labels;
+            this.children = children;
+            this.top = top;
+        }
+        
+        private int edgeIndex(char c) {
+            int low = 0;
+            int high = firstChars.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (firstChars[mid] < c) {
+                    low = mid + 1;
+                } else if (firstChars[mid] > c) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -1;
+        }
+    }
+    
+    /**
+     * Collects keys into a plain character trie, then compresses single-child chains into edges.
+     */
+    public static final class Builder {
+        
+        private final BuildNode root = new BuildNode();
+        private int keyCount;
+        
+        public Builder add(String foldedKey, Suggestion suggestion) {
+            String key = foldedKey.length() > MAX_KEY_LENGTH ? foldedKey.substring(0, MAX_KEY_LENGTH) : foldedKey;
+            if (key.isEmpty()) {
+                return this;
+            }
+            BuildNode node = root;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), c -> new BuildNode());
+            }
+            if (node.terminals == null) {
+                node.terminals = new ArrayList<>(1);
+            }
+            node.terminals.add(suggestion);
+            keyCount++;
+            return this;
+        }
+        
+        public SuggestionTrie build() {
+            return keyCount == 0 ? EMPTY : new SuggestionTrie(compress(root), keyCount);
+        }
+        
+        private static Node compress(BuildNode node) {
+            int size = node.children.size();
+            char[] firstChars = new char[size];
+            String[] labels = new String[size];
+            Node[] children = new Node[size];
+            List<Suggestion> candidates = node.terminals != null ? new ArrayList<>(node.terminals) : new ArrayList<>();
+            
+            int i = 0;
+            for (Map.Entry<Character, BuildNode> entry : node.children.entrySet()) {
+                StringBuilder label = new StringBuilder().append(entry.getKey());
+                BuildNode child = entry.getValue();
+                while (child.terminals == null && child.children.size() == 1) {
+                    Map.Entry<Character, BuildNode> only = child.children.firstEntry();
+                    label.append(only.getKey());
+                    child = only.getValue();
+                }
+                Node compressed = compress(child);
+                firstChars[i] = entry.getKey();
+                labels[i] = label.toString();
+                children[i] = compressed;
+                candidates.addAll(List.of(compressed.top));
+                i++;
+            }
+            return new Node(firstChars, labels, children, topK(candidates));
+        }
+        
+        private static Suggestion[] topK(List<Suggestion> candidates) {
+            candidates.sort(BY_WEIGHT);
+            List<Suggestion> top = new ArrayList<>(TOP_K);
+            for (Suggestion candidate : candidates) {
+                // The same target can be reachable from several keys (name suffixes)
+                if (top.stream().noneMatch(candidate::sameTarget)) {
+                    top.add(candidate);
+                    if (top.size() == TOP_K) {
+                        break;
+                    }
+                }
+            }
+            return top.toArray(new Suggestion[0]);
+        }
+    }
+    
+    private static final class BuildNode {
+        private final TreeMap<Character, BuildNode> children = new TreeMap<>();
+        private List<Suggestion> terminals;
+    }
+}
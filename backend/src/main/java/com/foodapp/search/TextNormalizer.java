@@ -0,0 +1,45 @@
+package com.foodapp.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Accent folding and tokenizing for Vietnamese text, so "pho" matches "phở" and "banh mi" matches "Bánh Mì".
+ */
+public final class TextNormalizer {
+    
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]+");
+    
+    private TextNormalizer() {
+    }
+    
+    /**
+     * Lowercase, strip diacritics and map đ/Đ to d. Returns "" for null.
+     */
+    public static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        // đ has no decomposition, it has to be mapped by hand
+        String mapped = text.replace('đ', 'd').replace('Đ', 'D');
+        String decomposed = Normalizer.normalize(mapped, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+    
+    /**
+     * Fold the text and split it into alphanumeric tokens.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : NON_ALPHANUMERIC.split(fold(text))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
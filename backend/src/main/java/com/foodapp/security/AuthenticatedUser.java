@@ -0,0 +1,20 @@
+package com.foodapp.security;
+
+import java.security.Principal;
+import java.time.Instant;
+
+/**
+ * Identity carried by a verified access token; becomes the request's principal.
+ * The name is the user id, which is what STOMP user destinations are addressed by.
+ */
+public record AuthenticatedUser(Long userId, String email, String role, Instant expiresAt) implements Principal {
+    
+    @Override
+    public String getName() {
+        return String.valueOf(userId);
+    }
+    
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
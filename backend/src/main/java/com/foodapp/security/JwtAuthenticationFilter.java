@@ -0,0 +1,90 @@
+package com.foodapp.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Authenticates "Authorization: Bearer" requests from the token alone.
+ * Recently verified tokens are kept in a small Caffeine cache, so a repeat request costs a
+ * map lookup and an expiry check instead of a signature verification. Requests without a
+ * valid token continue unauthenticated; access rules stay in SecurityConfig.
+ */
+@Slf4j
+@Component
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+    
+    private static final String BEARER_PREFIX = "Bearer ";
+    
+    private final JwtService jwtService;
+    private final Cache<String, AuthenticatedUser> verifiedTokens;
+    
+    public JwtAuthenticationFilter(JwtService jwtService,
+                                   @Value("${app.jwt.cache.maximum-size:10000}") long maximumSize,
+                                   @Value("${app.jwt.cache.ttl-ms:300000}") long ttlMs) {
+        this.jwtService = jwtService;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .build();
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            AuthenticatedUser user = resolve(header.substring(BEARER_PREFIX.length()).trim());
+            if (user != null) {
+                SecurityContextHolder.getContext().setAuthentication(authentication(user));
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+    
+    /**
+     * Verifies a raw token through the same cache; null when it is invalid or expired.
+     * Also used for STOMP CONNECT frames, which carry the token as a native header.
+     */
+    public AuthenticatedUser resolve(String token) {
+        Instant now = Instant.now();
+        AuthenticatedUser cached = verifiedTokens.getIfPresent(token);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                return cached;
+            }
+            verifiedTokens.invalidate(token);
+            return null;
+        }
+        try {
+            AuthenticatedUser user = jwtService.verify(token);
+            verifiedTokens.put(token, user);
+            return user;
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejected bearer token: {}", e.getMessage());
+            return null;
+        }
+    }
+    
+    public static UsernamePasswordAuthenticationToken authentication(AuthenticatedUser user) {
+        return new UsernamePasswordAuthenticationToken(
+                user, null, List.of(new SimpleGrantedAuthority("ROLE_" + user.role())));
+    }
+}
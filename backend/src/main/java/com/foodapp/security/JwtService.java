@@ -0,0 +1,106 @@
+package com.foodapp.security;
+
+import com.foodapp.entity.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.SecretKey;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * Issues and verifies stateless access tokens.
+ * HS256 signs with app.jwt.secret; RS256 signs with app.jwt.rsa.private-key and verifies
+ * with app.jwt.rsa.public-key (base64 PKCS#8 / X.509 DER). Verification is purely
+ * cryptographic, no database access.
+ */
+@Service
+public class JwtService {
+    
+    public static final String CLAIM_EMAIL = "email";
+    public static final String CLAIM_ROLE = "role";
+    
+    private final Key signingKey;
+    private final JwtParser parser;
+    private final Duration expiration;
+    
+    public JwtService(@Value("${app.jwt.algorithm:HS256}") String algorithm,
+                      @Value("${app.jwt.secret:}") String secret,
+                      @Value("${app.jwt.rsa.private-key:}") String rsaPrivateKey,
+                      @Value("${app.jwt.rsa.public-key:}") String rsaPublicKey,
+                      @Value("${app.jwt.expiration-ms:86400000}") long expirationMs) {
+        this.expiration = Duration.ofMillis(expirationMs);
+        
+        if ("RS256".equalsIgnoreCase(algorithm)) {
+            KeyPair keyPair = rsaKeyPair(rsaPrivateKey, rsaPublicKey);
+            this.signingKey = keyPair.getPrivate();
+            this.parser = Jwts.parser().verifyWith(keyPair.getPublic()).clockSkewSeconds(30).build();
+        } else if ("HS256".equalsIgnoreCase(algorithm)) {
+            if (secret.isBlank()) {
+                throw new IllegalStateException("app.jwt.secret is required for HS256");
+            }
+            SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+            this.signingKey = key;
+            this.parser = Jwts.parser().verifyWith(key).clockSkewSeconds(30).build();
+        } else {
+            throw new IllegalStateException("Unsupported app.jwt.algorithm: " + algorithm);
+        }
+    }
+    
+    public String issueToken(User user) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .subject(String.valueOf(user.getId()))
+                .claim(CLAIM_EMAIL, user.getEmail())
+                .claim(CLAIM_ROLE, user.getUserRole().name())
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plus(expiration)))
+                .signWith(signingKey)
+                .compact();
+    }
+    
+    /**
+     * Verifies signature and expiry; throws JwtException when the token is not acceptable.
+     */
+    public AuthenticatedUser verify(String token) throws JwtException {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        try {
+            return new AuthenticatedUser(
+                    Long.valueOf(claims.getSubject()),
+                    claims.get(CLAIM_EMAIL, String.class),
+                    claims.get(CLAIM_ROLE, String.class),
+                    claims.getExpiration().toInstant());
+        } catch (RuntimeException e) {
+            throw new JwtException("Malformed token claims", e);
+        }
+    }
+    
+    private static KeyPair rsaKeyPair(String privateKey, String publicKey) {
+        if (privateKey.isBlank() || publicKey.isBlank()) {
+            // A generated pair would not survive a restart or verify on other nodes
+            throw new IllegalStateException("app.jwt.rsa.private-key and app.jwt.rsa.public-key are required for RS256");
+        }
+        try {
+            KeyFactory factory = KeyFactory.getInstance("RSA");
+            PrivateKey signing = factory.generatePrivate(new PKCS8EncodedKeySpec(Decoders.BASE64.decode(privateKey)));
+            PublicKey verifying = factory.generatePublic(new X509EncodedKeySpec(Decoders.BASE64.decode(publicKey)));
+            return new KeyPair(verifying, signing);
+        } catch (Exception e) {
+            throw new IllegalStateException("Invalid app.jwt.rsa key material", e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.foodapp.security;
+
+/**
+ * Thrown when the password hashing executor is saturated; mapped to 503 so clients back off.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+    
+    public PasswordHashingBusyException() {
+        super("Server is busy, please try again shortly");
+    }
+}
@@ -0,0 +1,50 @@
+package com.foodapp.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Authenticates STOMP sessions from the "Authorization: Bearer" header of the CONNECT frame
+ * (browsers cannot set headers on the WebSocket handshake). Sessions may only subscribe to
+ * their own /user destinations or to /app subscription handlers.
+ */
+@Component
+@RequiredArgsConstructor
+public class StompAuthenticationInterceptor implements ChannelInterceptor {
+    
+    private static final String BEARER_PREFIX = "Bearer ";
+    
+    private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null) {
+            return message;
+        }
+        if (StompCommand.CONNECT.equals(accessor.getCommand())) {
+            String header = accessor.getFirstNativeHeader(HttpHeaders.AUTHORIZATION);
+            AuthenticatedUser user = header != null && header.startsWith(BEARER_PREFIX)
+                    ? jwtAuthenticationFilter.resolve(header.substring(BEARER_PREFIX.length()).trim())
+                    : null;
+            if (user == null) {
+                throw new MessageDeliveryException("Missing or invalid bearer token");
+            }
+            accessor.setUser(JwtAuthenticationFilter.authentication(user));
+        } else if (StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+            String destination = accessor.getDestination();
+            if (destination == null || !(destination.startsWith("/user/") || destination.startsWith("/app/"))) {
+                throw new MessageDeliveryException("Subscription to " + destination + " is not allowed");
+            }
+        }
+        return message;
+    }
+}
@@ -0,0 +1,56 @@
+package com.foodapp.service;
+
+import com.foodapp.dto.response.ActivityLogResponse;
+import com.foodapp.dto.response.CursorPage;
+import com.foodapp.repository.ActivityLogRepository;
+import com.foodapp.util.PageCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class ActivityLogService {
+    
+    private final ActivityLogRepository activityLogRepository;
+    
+    private static final Duration DEFAULT_WINDOW = Duration.ofDays(30);
+    private static final Duration MAX_WINDOW = Duration.ofDays(366);
+    
+    /**
+     * Newest first within [from, to). The window defaults to the last 30 days and is capped
+     * so a timeline query never fans out over the whole partitioned table.
+     */
+    public CursorPage<ActivityLogResponse> getUserTimeline(Long userId, OffsetDateTime from, OffsetDateTime to,
+            String cursor, Integer limit) {
+        OffsetDateTime end = to != null ? to : OffsetDateTime.now();
+        OffsetDateTime start = from != null ? from : end.minus(DEFAULT_WINDOW);
+        if (!start.isBefore(end)) {
+            throw new RuntimeException("'from' must be before 'to'");
+        }
+        if (Duration.between(start, end).compareTo(MAX_WINDOW) > 0) {
+            throw new RuntimeException("Time range must not exceed " + MAX_WINDOW.toDays() + " days");
+        }
+        
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = PageCursor.clampLimit(limit);
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        
+        List<ActivityLogResponse> logs = after == null
+                ? activityLogRepository.findTimeline(userId, start, end, pageable)
+                : activityLogRepository.findTimelineBefore(userId, start, after.getCreatedAt(), after.getId(), pageable);
+        
+        String nextCursor = null;
+        if (logs.size() > pageSize) {
+            logs = logs.subList(0, pageSize);
+            ActivityLogResponse last = logs.get(pageSize - 1);
+            nextCursor = PageCursor.of(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(logs, nextCursor);
+    }
+}
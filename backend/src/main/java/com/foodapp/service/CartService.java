@@ -1,74 +1,194 @@
 package com.foodapp.service;
 
+import com.foodapp.cart.WriteBehindCartStore;
+import com.foodapp.dto.request.CartOperationRequest;
 import com.foodapp.dto.response.CartItemResponse;
+import com.foodapp.dto.response.FoodItemResponse;
 import com.foodapp.entity.Cart;
 import com.foodapp.entity.FoodItem;
-import com.foodapp.entity.Shop;
-import com.foodapp.entity.User;
+import com.foodapp.repository.CartJdbcRepository;
 import com.foodapp.repository.CartRepository;
-import com.foodapp.repository.FoodItemRepository;
-import com.foodapp.repository.ShopRepository;
 import com.foodapp.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class CartService {
     
+    // PostgreSQL's SQLSTATE for foreign_key_violation and the default name of cart.user_id's constraint
+    private static final String FOREIGN_KEY_VIOLATION = "23503";
+    private static final String USER_FOREIGN_KEY = "cart_user_id_fkey";
+    
     private final CartRepository cartRepository;
     private final UserRepository userRepository;
-    private final ShopRepository shopRepository;
-    private final FoodItemRepository foodItemRepository;
+    private final CartJdbcRepository cartJdbcRepository;
+    private final FoodItemService foodItemService;
+    // Present when app.cart.write-behind.enabled=true; carts are then served from memory
+    private final Optional<WriteBehindCartStore> writeBehindStore;
     
     public List<CartItemResponse> getCartByUserId(Long userId) {
-        return cartRepository.findByUserId(userId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        if (writeBehindStore.isPresent()) {
+            return writeBehindStore.get().getCart(userId);
+        }
+        return cartJdbcRepository.findItemsByUserId(userId);
     }
     
     public List<CartItemResponse> getCartByUserAndShop(Long userId, Long shopId) {
-        return cartRepository.findByUserIdAndShopId(userId, shopId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        if (writeBehindStore.isPresent()) {
+            return writeBehindStore.get().getCart(userId, shopId);
+        }
+        return cartJdbcRepository.findItemsByUserIdAndShopId(userId, shopId);
     }
     
-    @Transactional
+    /**
+     * One statement: the food item is resolved from the cached shop menu and the line is
+     * created or incremented by a native upsert, so concurrent taps cannot lose an increment
+     * or collide on the (user_id, shop_id, food_item_id) unique key.
+     */
     public CartItemResponse addToCart(Long userId, Long shopId, Long foodItemId, Integer quantity) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        Shop shop = shopRepository.findById(shopId)
-                .orElseThrow(() -> new RuntimeException("Shop not found"));
-        FoodItem foodItem = foodItemRepository.findById(foodItemId)
+        if (writeBehindStore.isPresent()) {
+            return writeBehindStore.get().add(userId, shopId, foodItemId, quantity);
+        }
+        
+        FoodItemResponse food = foodItemService.getFoodItemsByShop(shopId).stream()
+                .filter(item -> item.getId().equals(foodItemId))
+                .findFirst()
                 .orElseThrow(() -> new RuntimeException("Food item not found"));
         
-        // Check if item already exists in cart
-        Optional<Cart> existingCart = cartRepository.findByUserIdAndShopIdAndFoodItemId(userId, shopId, foodItemId);
+        CartJdbcRepository.Row row;
+        try {
+            row = cartJdbcRepository.increment(userId, shopId, foodItemId, quantity);
+        } catch (DataIntegrityViolationException e) {
+            // Anything else (e.g. a food item deleted since the menu was cached) is not the caller's fault
+            if (isForeignKeyViolation(e, USER_FOREIGN_KEY)) {
+                throw new RuntimeException("User not found");
+            }
+            throw e;
+        }
         
-        Cart cart;
-        if (existingCart.isPresent()) {
-            cart = existingCart.get();
-            cart.setQuantity(cart.getQuantity() + quantity);
-        } else {
-            cart = new Cart();
-            cart.setUser(user);
-            cart.setShop(shop);
-            cart.setFoodItem(foodItem);
-            cart.setQuantity(quantity);
+        return CartItemResponse.builder()
+                .id(row.id())
+                .userId(userId)
+                .shopId(shopId)
+                .shopName(food.getShopName())
+                .foodItemId(foodItemId)
+                .foodName(food.getFoodName())
+                .foodImage(food.getImage())
+                .foodPrice(food.getPrice())
+                .discountPrice(food.getDiscountPrice())
+                .quantity(row.quantity())
+                .subtotal(CartItemResponse.subtotal(food.getPrice(), food.getDiscountPrice(), row.quantity()))
+                .createdAt(row.createdAt())
+                .build();
+    }
+    
+    /**
+     * Applies a batch of add/set/remove operations in one transaction and returns the whole cart.
+     * Consecutive operations of the same kind go to the database as one JDBC batch; the list
+     * order is kept, so "remove X, add X" still behaves like two separate calls.
+     */
+    @Transactional
+    public List<CartItemResponse> applyCartOperations(Long userId, List<CartOperationRequest> operations) {
+        validateOperations(operations);
+        if (writeBehindStore.isPresent()) {
+            return writeBehindStore.get().apply(userId, operations);
+        }
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("User not found");
         }
         
-        cart = cartRepository.save(cart);
-        return mapToResponse(cart);
+        int start = 0;
+        while (start < operations.size()) {
+            String type = operations.get(start).effectiveType();
+            int end = start + 1;
+            while (end < operations.size() && operations.get(end).effectiveType().equals(type)) {
+                end++;
+            }
+            applyRun(userId, type, operations.subList(start, end));
+            start = end;
+        }
+        return cartJdbcRepository.findItemsByUserId(userId);
+    }
+    
+    private void applyRun(Long userId, String type, List<CartOperationRequest> run) {
+        switch (type) {
+            case CartOperationRequest.ADD -> {
+                // One row per food item: with reWriteBatchedInserts the batch becomes a single
+                // multi-row upsert, which cannot touch the same cart line twice
+                Map<List<Long>, Integer> quantities = new LinkedHashMap<>();
+                for (CartOperationRequest op : run) {
+                    quantities.merge(List.of(op.getShopId(), op.getFoodItemId()), op.getQuantity(), Integer::sum);
+                }
+                cartJdbcRepository.incrementAll(userId, quantities.entrySet().stream()
+                        .map(entry -> new CartJdbcRepository.Row(null, userId, entry.getKey().get(0), entry.getKey().get(1), entry.getValue(), null))
+                        .collect(Collectors.toList()));
+            }
+            case CartOperationRequest.SET -> {
+                int[] updated = cartJdbcRepository.updateQuantities(userId, run.stream()
+                        .map(op -> new CartJdbcRepository.Row(op.getCartId(), userId, null, null, op.getQuantity(), null))
+                        .collect(Collectors.toList()));
+                for (int count : updated) {
+                    if (count == 0) {
+                        throw new RuntimeException("Cart item not found");
+                    }
+                }
+            }
+            default -> {
+                Set<Long> cartIds = run.stream().map(CartOperationRequest::getCartId).collect(Collectors.toSet());
+                if (cartJdbcRepository.deleteAllByIdAndUserId(cartIds, userId) != cartIds.size()) {
+                    throw new RuntimeException("Cart item not found");
+                }
+            }
+        }
+    }
+    
+    private static boolean isForeignKeyViolation(DataIntegrityViolationException e, String constraint) {
+        Throwable cause = e.getMostSpecificCause();
+        return cause instanceof SQLException sqlException
+                && FOREIGN_KEY_VIOLATION.equals(sqlException.getSQLState())
+                && sqlException.getMessage() != null
+                && sqlException.getMessage().contains("\"" + constraint + "\"");
+    }
+    
+    // Checks every operation up front so a bad entry fails the batch before anything is written
+    private void validateOperations(List<CartOperationRequest> operations) {
+        Map<Long, Set<Long>> menus = new HashMap<>();
+        for (CartOperationRequest op : operations) {
+            if (CartOperationRequest.ADD.equals(op.getType())) {
+                if (op.getShopId() == null || op.getFoodItemId() == null || op.getQuantity() == null || op.getQuantity() <= 0) {
+                    throw new RuntimeException("add requires shopId, foodItemId and a positive quantity");
+                }
+                Set<Long> menu = menus.computeIfAbsent(op.getShopId(), shopId -> foodItemService.getFoodItemsByShop(shopId).stream()
+                        .map(FoodItemResponse::getId)
+                        .collect(Collectors.toCollection(HashSet::new)));
+                if (!menu.contains(op.getFoodItemId())) {
+                    throw new RuntimeException("Food item not found");
+                }
+            } else if (op.getCartId() == null) {
+                throw new RuntimeException(op.getType() + " requires cartId");
+            }
+        }
     }
     
     @Transactional
     public CartItemResponse updateCartQuantity(Long cartId, Integer quantity) {
+        if (writeBehindStore.isPresent()) {
+            return writeBehindStore.get().setQuantity(cartId, quantity);
+        }
+        
         Cart cart = cartRepository.findById(cartId)
                 .orElseThrow(() -> new RuntimeException("Cart item not found"));
         
@@ -84,6 +204,10 @@ public class CartService {
     
     @Transactional
     public void removeFromCart(Long cartId) {
+        if (writeBehindStore.isPresent()) {
+            writeBehindStore.get().remove(cartId);
+            return;
+        }
         if (!cartRepository.existsById(cartId)) {
             throw new RuntimeException("Cart item not found");
         }
@@ -92,19 +216,24 @@ public class CartService {
     
     @Transactional
     public void clearCart(Long userId) {
+        if (writeBehindStore.isPresent()) {
+            writeBehindStore.get().clear(userId);
+            return;
+        }
         cartRepository.deleteByUserId(userId);
     }
     
     @Transactional
     public void clearCartByShop(Long userId, Long shopId) {
+        if (writeBehindStore.isPresent()) {
+            writeBehindStore.get().clearShop(userId, shopId);
+            return;
+        }
         cartRepository.deleteByUserIdAndShopId(userId, shopId);
     }
     
     private CartItemResponse mapToResponse(Cart cart) {
         FoodItem foodItem = cart.getFoodItem();
-        BigDecimal price = foodItem.getDiscountPrice() != null ? foodItem.getDiscountPrice() : foodItem.getPrice();
-        BigDecimal subtotal = price.multiply(BigDecimal.valueOf(cart.getQuantity()));
-        
         return CartItemResponse.builder()
                 .id(cart.getId())
                 .userId(cart.getUser().getId())
@@ -116,7 +245,7 @@ public class CartService {
                 .foodPrice(foodItem.getPrice())
                 .discountPrice(foodItem.getDiscountPrice())
                 .quantity(cart.getQuantity())
-                .subtotal(subtotal)
+                .subtotal(CartItemResponse.subtotal(foodItem.getPrice(), foodItem.getDiscountPrice(), cart.getQuantity()))
                 .createdAt(cart.getCreatedAt())
                 .build();
     }
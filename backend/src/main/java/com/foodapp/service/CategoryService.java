@@ -1,9 +1,13 @@
 package com.foodapp.service;
 
+import com.foodapp.cache.CatalogCacheNames;
 import com.foodapp.dto.response.CategoryResponse;
 import com.foodapp.entity.Category;
+import com.foodapp.event.CategoryChangedEvent;
 import com.foodapp.repository.CategoryRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,7 +19,9 @@ import java.util.stream.Collectors;
 public class CategoryService {
     
     private final CategoryRepository categoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
+    @Cacheable(CatalogCacheNames.CATEGORIES)
     public List<CategoryResponse> getAllCategories() {
         return categoryRepository.findAll().stream()
                 .map(this::mapToResponse)
@@ -39,6 +45,7 @@ public class CategoryService {
         category.setCategoryDescription(description);
         
         category = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(category.getId(), false));
         return mapToResponse(category);
     }
     
@@ -55,6 +62,7 @@ public class CategoryService {
         }
         
         category = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(category.getId(), false));
         return mapToResponse(category);
     }
     
@@ -64,6 +72,7 @@ public class CategoryService {
             throw new RuntimeException("Category not found");
         }
         categoryRepository.deleteById(id);
+        eventPublisher.publishEvent(new CategoryChangedEvent(id, true));
     }
     
     private CategoryResponse mapToResponse(Category category) {
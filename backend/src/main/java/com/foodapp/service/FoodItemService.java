@@ -1,18 +1,26 @@
 package com.foodapp.service;
 
+import com.foodapp.cache.CatalogCacheNames;
 import com.foodapp.dto.response.FoodItemResponse;
 import com.foodapp.entity.Category;
 import com.foodapp.entity.FoodItem;
 import com.foodapp.entity.Shop;
+import com.foodapp.event.FoodItemChangedEvent;
 import com.foodapp.repository.CategoryRepository;
 import com.foodapp.repository.FoodItemRepository;
 import com.foodapp.repository.ShopRepository;
+import com.foodapp.search.CatalogSearchIndex;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,33 +30,58 @@ public class FoodItemService {
     private final FoodItemRepository foodItemRepository;
     private final ShopRepository shopRepository;
     private final CategoryRepository categoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CatalogSearchIndex searchIndex;
     
+    private static final int MAX_SEARCH_RESULTS = 50;
+    
+    @Transactional(readOnly = true)
     public List<FoodItemResponse> getAllFoodItems() {
         return foodItemRepository.findAll().stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public FoodItemResponse getFoodItemById(Long id) {
         FoodItem foodItem = foodItemRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Food item not found"));
         return mapToResponse(foodItem);
     }
     
+    @Transactional(readOnly = true)
+    @Cacheable(CatalogCacheNames.SHOP_FOOD_ITEMS)
     public List<FoodItemResponse> getFoodItemsByShop(Long shopId) {
         return foodItemRepository.findByShopIdOrderByCreatedAtDesc(shopId).stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<FoodItemResponse> getFoodItemsByCategory(Long categoryId) {
         return foodItemRepository.findByCategoryId(categoryId).stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<FoodItemResponse> searchFoodItems(String keyword) {
-        return foodItemRepository.searchByName(keyword).stream()
+        if (!searchIndex.isReady()) {
+            return foodItemRepository.searchByName(keyword).stream()
+                    .map(this::mapToResponse)
+                    .collect(Collectors.toList());
+        }
+        
+        // Rank in memory, then load the hits by primary key in one query
+        List<Long> ids = searchIndex.searchFoodItems(keyword, MAX_SEARCH_RESULTS);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, FoodItem> foodItems = foodItemRepository.findWithShopAndCategoryByIdIn(ids).stream()
+                .collect(Collectors.toMap(FoodItem::getId, Function.identity()));
+        return ids.stream()
+                .map(foodItems::get)
+                .filter(Objects::nonNull)
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
@@ -72,6 +105,7 @@ public class FoodItemService {
         foodItem.setImage(image);
         
         foodItem = foodItemRepository.save(foodItem);
+        eventPublisher.publishEvent(new FoodItemChangedEvent(foodItem.getId(), shopId, false));
         return mapToResponse(foodItem);
     }
     
@@ -99,15 +133,16 @@ public class FoodItemService {
         }
         
         foodItem = foodItemRepository.save(foodItem);
+        eventPublisher.publishEvent(new FoodItemChangedEvent(foodItem.getId(), foodItem.getShop().getId(), false));
         return mapToResponse(foodItem);
     }
     
     @Transactional
     public void deleteFoodItem(Long id) {
-        if (!foodItemRepository.existsById(id)) {
-            throw new RuntimeException("Food item not found");
-        }
-        foodItemRepository.deleteById(id);
+        FoodItem foodItem = foodItemRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Food item not found"));
+        foodItemRepository.delete(foodItem);
+        eventPublisher.publishEvent(new FoodItemChangedEvent(id, foodItem.getShop().getId(), true));
     }
     
     private FoodItemResponse mapToResponse(FoodItem foodItem) {
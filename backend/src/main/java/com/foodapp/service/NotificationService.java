@@ -0,0 +1,150 @@
+package com.foodapp.service;
+
+import com.foodapp.dto.response.NotificationInboxResponse;
+import com.foodapp.dto.response.NotificationResponse;
+import com.foodapp.entity.Notification;
+import com.foodapp.notification.NotificationMailbox;
+import com.foodapp.notification.NotificationMessage;
+import com.foodapp.repository.NotificationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Notifications are stored in the transaction that produced them, then added to the user's
+ * in-memory mailbox and pushed to their STOMP sessions once it has committed. Clients subscribe
+ * to /user/queue/notifications for new notifications and to /user/queue/notifications/unread
+ * for the badge after reads on any device. The badge is the user's unread rows in the
+ * notifications table. Reads and deletes reach the mailbox only once they have committed, so
+ * the mailbox never shows a change that rolled back.
+ */
+@Service
+@RequiredArgsConstructor
+public class NotificationService {
+
+    public static final String NOTIFICATION_QUEUE = "/queue/notifications";
+    public static final String UNREAD_QUEUE = "/queue/notifications/unread";
+
+    private final NotificationMailbox mailbox;
+    private final NotificationRepository notificationRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    /**
+     * Stores the notifications, keeping each recipient's newest backlog-size, and pushes them
+     * once the surrounding transaction (e.g. the producing one) has committed.
+     */
+    @Transactional
+    public void deliver(List<NotificationMessage> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        List<Notification> saved = notificationRepository.saveAll(notifications.stream()
+                .map(message -> new Notification(null, message.userId(), message.type(), message.title(),
+                        message.message(), message.referenceId(), false, null))
+                .toList());
+        saved.stream().map(Notification::getUserId).distinct()
+                .forEach(userId -> notificationRepository.trimToNewest(userId, mailbox.getBacklogSize()));
+        afterCommit(() -> saved.forEach(notification -> {
+            NotificationResponse response = toResponse(notification);
+            mailbox.add(notification.getUserId(), response);
+            messagingTemplate.convertAndSendToUser(notification.getUserId().toString(), NOTIFICATION_QUEUE, response);
+        }));
+    }
+
+    @Transactional(readOnly = true)
+    public NotificationInboxResponse getInbox(Long userId) {
+        return NotificationInboxResponse.builder()
+                .notifications(mailbox.list(userId, this::loadNewest))
+                .unreadCount(getUnreadCount(userId))
+                .build();
+    }
+
+    public int getUnreadCount(Long userId) {
+        return (int) notificationRepository.countByUserIdAndIsReadFalse(userId);
+    }
+
+    @Transactional
+    public void markAsRead(Long userId, Long notificationId) {
+        if (notificationRepository.markRead(userId, notificationId) > 0) {
+            afterCommit(() -> {
+                mailbox.markRead(userId, notificationId);
+                publishUnreadCount(userId);
+            });
+        }
+    }
+
+    @Transactional
+    public void markAllAsRead(Long userId) {
+        if (notificationRepository.markAllRead(userId) > 0) {
+            afterCommit(() -> {
+                mailbox.markAllRead(userId);
+                publishUnreadCount(userId);
+            });
+        }
+    }
+
+    @Transactional
+    public void delete(Long userId, Long notificationId) {
+        if (notificationRepository.deleteByUserIdAndId(userId, notificationId) > 0) {
+            afterCommit(() -> {
+                mailbox.remove(userId, notificationId);
+                publishUnreadCount(userId);
+            });
+        }
+    }
+
+    @Transactional
+    public void clear(Long userId) {
+        if (notificationRepository.deleteByUserId(userId) > 0) {
+            afterCommit(() -> {
+                mailbox.clear(userId);
+                publishUnreadCount(userId);
+            });
+        }
+    }
+
+    private List<NotificationResponse> loadNewest(Long userId) {
+        return notificationRepository.findByUserIdOrderByIdDesc(userId, PageRequest.of(0, mailbox.getBacklogSize()))
+                .stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    private NotificationResponse toResponse(Notification notification) {
+        return NotificationResponse.builder()
+                .id(notification.getId())
+                .type(notification.getType())
+                .title(notification.getTitle())
+                .message(notification.getMessage())
+                .referenceId(notification.getReferenceId())
+                .isRead(notification.getIsRead())
+                .createdAt(notification.getCreatedAt())
+                .build();
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // Other devices of the user refresh their badge
+    private void publishUnreadCount(Long userId) {
+        messagingTemplate.convertAndSendToUser(userId.toString(), UNREAD_QUEUE,
+                Map.of("unreadCount", getUnreadCount(userId)));
+    }
+}
@@ -1,18 +1,32 @@
 package com.foodapp.service;
 
+import com.foodapp.activity.ActivityActions;
+import com.foodapp.activity.ActivityLogWriter;
+import com.foodapp.cart.WriteBehindCartStore;
+import com.foodapp.dto.response.CursorPage;
 import com.foodapp.dto.response.OrderItemResponse;
 import com.foodapp.dto.response.OrderResponse;
+import com.foodapp.dto.response.OrderStatusHistoryResponse;
+import com.foodapp.dto.response.OrderStatusUpdate;
 import com.foodapp.entity.*;
 import com.foodapp.entity.enums.OrderStatus;
 import com.foodapp.entity.enums.PaymentMethod;
+import com.foodapp.event.OrderStatusChangedEvent;
 import com.foodapp.repository.*;
+import com.foodapp.util.PageCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -22,35 +36,62 @@ public class OrderService {
     
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
+    private final OrderJdbcRepository orderJdbcRepository;
+    private final OrderOutboxRepository orderOutboxRepository;
+    private final OrderStatusHistoryRepository orderStatusHistoryRepository;
     private final UserRepository userRepository;
     private final ShopRepository shopRepository;
     private final CartRepository cartRepository;
+    private final CartJdbcRepository cartJdbcRepository;
     private final FoodItemRepository foodItemRepository;
+    private final Optional<WriteBehindCartStore> writeBehindCartStore;
+    private final ActivityLogWriter activityLogWriter;
+    private final ApplicationEventPublisher eventPublisher;
     
-    public List<OrderResponse> getOrdersByCustomer(Long customerId) {
-        return orderRepository.findByCustomerIdOrderByCreatedAtDesc(customerId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public CursorPage<OrderResponse> getOrdersByCustomer(Long customerId, String cursor, Integer limit) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = PageCursor.clampLimit(limit);
+        // Fetch one extra row to know whether another page exists
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        
+        List<Order> orders = after == null
+                ? orderRepository.findPageByCustomerId(customerId, pageable)
+                : orderRepository.findPageByCustomerIdBefore(customerId, after.getCreatedAt(), after.getId(), pageable);
+        return toPage(orders, pageSize);
     }
     
-    public List<OrderResponse> getOrdersByShop(Long shopId) {
-        return orderRepository.findByShopIdOrderByCreatedAtDesc(shopId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public CursorPage<OrderResponse> getOrdersByShop(Long shopId, String cursor, Integer limit) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = PageCursor.clampLimit(limit);
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        
+        List<Order> orders = after == null
+                ? orderRepository.findPageByShopId(shopId, pageable)
+                : orderRepository.findPageByShopIdBefore(shopId, after.getCreatedAt(), after.getId(), pageable);
+        return toPage(orders, pageSize);
     }
     
     public OrderResponse getOrderById(Long id) {
-        Order order = orderRepository.findById(id)
+        Order order = orderRepository.findWithPartiesById(id)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
         return mapToResponse(order);
     }
     
     public OrderResponse getOrderByCode(String orderCode) {
-        Order order = orderRepository.findByOrderCode(orderCode)
+        Order order = orderRepository.findWithPartiesByOrderCode(orderCode)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
         return mapToResponse(order);
     }
     
+    /**
+     * Current status only, read without the EntityManager so a stream opened afterwards
+     * does not pin a pooled connection for its lifetime.
+     */
+    public OrderStatusUpdate getOrderStatus(Long id) {
+        return orderJdbcRepository.findStatus(id)
+                .orElseThrow(() -> new RuntimeException("Order not found"));
+    }
+    
     @Transactional
     public OrderResponse createOrderFromCart(Long customerId, Long shopId, String deliveryAddress,
             String deliveryPhone, String deliveryNote, PaymentMethod paymentMethod) {
@@ -60,7 +101,9 @@ public class OrderService {
         Shop shop = shopRepository.findById(shopId)
                 .orElseThrow(() -> new RuntimeException("Shop not found"));
         
-        List<Cart> cartItems = cartRepository.findByUserIdAndShopId(customerId, shopId);
+        // Pending in-memory cart changes must reach the table before it is read
+        writeBehindCartStore.ifPresent(store -> store.flush(customerId));
+        List<Cart> cartItems = cartRepository.findWithFoodItemByUserIdAndShopId(customerId, shopId);
         if (cartItems.isEmpty()) {
             throw new RuntimeException("Cart is empty");
         }
@@ -78,9 +121,7 @@ public class OrderService {
         
         BigDecimal subtotal = BigDecimal.ZERO;
         
-        order = orderRepository.save(order);
-        
-        // Create order items
+        // Build order items and totals before anything is written
         for (Cart cartItem : cartItems) {
             FoodItem foodItem = cartItem.getFoodItem();
             BigDecimal price = foodItem.getDiscountPrice() != null ? foodItem.getDiscountPrice() : foodItem.getPrice();
@@ -94,30 +135,48 @@ public class OrderService {
             orderItem.setQuantity(cartItem.getQuantity());
             orderItem.setSubtotal(itemSubtotal);
             
-            orderItemRepository.save(orderItem);
+            order.getOrderItems().add(orderItem);
             subtotal = subtotal.add(itemSubtotal);
         }
         
-        // Update order totals
         BigDecimal deliveryFee = BigDecimal.valueOf(15000); // Fixed delivery fee
         order.setSubtotal(subtotal);
         order.setDeliveryFee(deliveryFee);
         order.setDiscountAmount(BigDecimal.ZERO);
         order.setTotalAmount(subtotal.add(deliveryFee));
         
+        // One order insert; the items cascade and are flushed as a single JDBC batch
         order = orderRepository.save(order);
         
-        // Clear cart
-        cartRepository.deleteByUserIdAndShopId(customerId, shopId);
+        // Take only what was ordered off the cart; lines added since the read above stay
+        Map<Long, Integer> ordered = cartItems.stream()
+                .collect(Collectors.toMap(Cart::getId, Cart::getQuantity));
+        cartJdbcRepository.removeOrdered(customerId, ordered);
+        writeBehindCartStore.ifPresent(store -> store.removeOrderedAfterCommit(customerId, ordered));
+        activityLogWriter.log(customerId, ActivityActions.ORDER_CREATED,
+                "Order " + order.getOrderCode() + " at shop " + shopId + ", total " + order.getTotalAmount());
+        recordStatusChanged(order, null, customer, null);
         
-        return mapToResponse(order);
+        return mapToResponse(order, order.getOrderItems());
     }
     
+    /**
+     * Applies a status change allowed by OrderStatus#canTransitionTo. No row lock is taken: the
+     * @Version check on flush rejects the change if the order was modified after it was read,
+     * and expectedVersion (optional) rejects it if the caller acted on an older read.
+     */
     @Transactional
-    public OrderResponse updateOrderStatus(Long orderId, OrderStatus status) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new RuntimeException("Order not found"));
+    public OrderResponse updateOrderStatus(Long orderId, OrderStatus status, Long changedById, Long expectedVersion) {
+        if (status == OrderStatus.cancelled) {
+            // Cancelling records who cancelled and why
+            throw new RuntimeException("Use the cancel endpoint to cancel an order");
+        }
+        Order order = findForTransition(orderId, status, expectedVersion);
+        User changedBy = changedById != null
+                ? userRepository.findById(changedById).orElseThrow(() -> new RuntimeException("User not found"))
+                : null;
         
+        OrderStatus previous = order.getOrderStatus();
         order.setOrderStatus(status);
         
         if (status == OrderStatus.confirmed) {
@@ -126,32 +185,109 @@ public class OrderService {
             order.setCompletedAt(OffsetDateTime.now());
         }
         
-        order = orderRepository.save(order);
+        // Flush now so a concurrent change fails here, before the history and outbox rows
+        order = orderRepository.saveAndFlush(order);
+        activityLogWriter.log(order.getCustomer().getId(), ActivityActions.ORDER_STATUS_CHANGED,
+                "Order " + order.getOrderCode() + ": " + previous + " -> " + status);
+        recordStatusChanged(order, previous, changedBy, null);
         return mapToResponse(order);
     }
     
     @Transactional
-    public OrderResponse cancelOrder(Long orderId, Long cancelledById, String reason) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new RuntimeException("Order not found"));
+    public OrderResponse cancelOrder(Long orderId, Long cancelledById, String reason, Long expectedVersion) {
+        Order order = findForTransition(orderId, OrderStatus.cancelled, expectedVersion);
         
         User cancelledBy = userRepository.findById(cancelledById)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         
+        OrderStatus previous = order.getOrderStatus();
         order.setOrderStatus(OrderStatus.cancelled);
         order.setCancelledBy(cancelledBy);
         order.setCancelReason(reason);
         
-        order = orderRepository.save(order);
+        order = orderRepository.saveAndFlush(order);
+        activityLogWriter.log(cancelledById, ActivityActions.ORDER_CANCELLED,
+                "Order " + order.getOrderCode() + " cancelled" + (reason != null ? ": " + reason : ""));
+        recordStatusChanged(order, previous, cancelledBy, reason);
         return mapToResponse(order);
     }
     
+    /**
+     * Status timeline of the order, oldest first
+     */
+    public List<OrderStatusHistoryResponse> getOrderHistory(Long orderId) {
+        List<OrderStatusHistoryResponse> history = orderStatusHistoryRepository.findTimeline(orderId);
+        // Every order has at least its creation row
+        if (history.isEmpty() && !orderRepository.existsById(orderId)) {
+            throw new RuntimeException("Order not found");
+        }
+        return history;
+    }
+    
+    private Order findForTransition(Long orderId, OrderStatus next, Long expectedVersion) {
+        Order order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new RuntimeException("Order not found"));
+        if (expectedVersion != null && !expectedVersion.equals(order.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Order.class, orderId);
+        }
+        if (!order.getOrderStatus().canTransitionTo(next)) {
+            throw new RuntimeException("Cannot change order status from " + order.getOrderStatus() + " to " + next
+                    + " (allowed: " + order.getOrderStatus().nextStatuses() + ")");
+        }
+        return order;
+    }
+    
+    // The history and outbox rows commit with the order; the in-process event only reaches this instance
+    private void recordStatusChanged(Order order, OrderStatus previous, User changedBy, String note) {
+        OrderStatusChangedEvent event = new OrderStatusChangedEvent(order.getId(), order.getOrderCode(),
+                order.getCustomer().getId(), order.getShop().getId(), order.getShop().getUser().getId(),
+                previous, order.getOrderStatus(), OffsetDateTime.now(), order.getVersion());
+        orderStatusHistoryRepository.save(new OrderStatusHistory(null, order, previous, order.getOrderStatus(),
+                changedBy, note, event.getChangedAt()));
+        orderOutboxRepository.append(event);
+        eventPublisher.publishEvent(event);
+    }
+    
     private String generateOrderCode() {
         return "ORD-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
     }
     
+    private CursorPage<OrderResponse> toPage(List<Order> orders, int pageSize) {
+        String nextCursor = null;
+        if (orders.size() > pageSize) {
+            orders = orders.subList(0, pageSize);
+            Order last = orders.get(pageSize - 1);
+            nextCursor = PageCursor.of(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(mapToResponses(orders), nextCursor);
+    }
+    
     private OrderResponse mapToResponse(Order order) {
-        List<OrderItemResponse> items = orderItemRepository.findByOrderId(order.getId()).stream()
+        return mapToResponses(List.of(order)).get(0);
+    }
+    
+    /**
+     * Map a list of orders with a single item query for the whole list.
+     * Customer and shop should already be fetched by the caller (see OrderRepository#findWithParties*).
+     */
+    private List<OrderResponse> mapToResponses(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+        
+        List<Long> orderIds = orders.stream()
+                .map(Order::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<OrderItem>> itemsByOrderId = orderItemRepository.findWithFoodItemByOrderIdIn(orderIds).stream()
+                .collect(Collectors.groupingBy(item -> item.getOrder().getId()));
+        
+        return orders.stream()
+                .map(order -> mapToResponse(order, itemsByOrderId.getOrDefault(order.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
+    
+    private OrderResponse mapToResponse(Order order, List<OrderItem> orderItems) {
+        List<OrderItemResponse> items = orderItems.stream()
                 .map(item -> OrderItemResponse.builder()
                         .id(item.getId())
                         .foodItemId(item.getFoodItem().getId())
@@ -186,6 +322,7 @@ public class OrderService {
                 .createdAt(order.getCreatedAt())
                 .confirmedAt(order.getConfirmedAt())
                 .completedAt(order.getCompletedAt())
+                .version(order.getVersion())
                 .orderItems(items)
                 .build();
     }
@@ -1,21 +1,33 @@
 package com.foodapp.service;
 
+import com.foodapp.dto.response.CursorPage;
 import com.foodapp.dto.response.ReviewResponse;
+import com.foodapp.dto.response.ReviewSummaryResponse;
 import com.foodapp.entity.Order;
 import com.foodapp.entity.Review;
-import com.foodapp.entity.Shop;
+import com.foodapp.entity.ShopRatingCount;
 import com.foodapp.entity.User;
+import com.foodapp.event.ReviewCreatedEvent;
+import com.foodapp.event.ReviewRepliedEvent;
 import com.foodapp.repository.OrderRepository;
 import com.foodapp.repository.ReviewRepository;
+import com.foodapp.repository.ShopRatingCountRepository;
 import com.foodapp.repository.ShopRepository;
 import com.foodapp.repository.UserRepository;
+import com.foodapp.util.PageCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -25,19 +37,79 @@ public class ReviewService {
     private final OrderRepository orderRepository;
     private final UserRepository userRepository;
     private final ShopRepository shopRepository;
+    private final ShopRatingAggregator ratingAggregator;
+    private final ShopRatingCountRepository ratingCountRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
-    public List<ReviewResponse> getReviewsByShop(Long shopId) {
-        return reviewRepository.findByShopIdOrderByCreatedAtDesc(shopId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    private static final int DEFAULT_SUMMARY_REVIEWS = 5;
+    private static final int MAX_SUMMARY_REVIEWS = 20;
+    
+    public CursorPage<ReviewResponse> getReviewsByShop(Long shopId, String cursor, Integer limit) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = PageCursor.clampLimit(limit);
+        // Fetch one extra row to know whether another page exists
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        
+        List<ReviewResponse> reviews = after == null
+                ? reviewRepository.findResponsePageByShopId(shopId, pageable)
+                : reviewRepository.findResponsePageByShopIdBefore(shopId, after.getCreatedAt(), after.getId(), pageable);
+        
+        String nextCursor = null;
+        if (reviews.size() > pageSize) {
+            reviews = reviews.subList(0, pageSize);
+            ReviewResponse last = reviews.get(pageSize - 1);
+            nextCursor = PageCursor.of(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(reviews, nextCursor);
+    }
+    
+    /**
+     * Rating overview for the shop page, read from the pre-aggregated counters
+     * plus the latest few reviews, without loading the whole review history.
+     */
+    @Transactional(readOnly = true)
+    public ReviewSummaryResponse getReviewSummary(Long shopId, Integer latest) {
+        if (!shopRepository.existsById(shopId)) {
+            throw new RuntimeException("Shop not found");
+        }
+        ShopRatingCount counts = ratingCountRepository.findById(shopId)
+                .orElseGet(() -> new ShopRatingCount(shopId, 0, 0, 0, 0, 0));
+        
+        Map<Integer, Integer> ratingCounts = new LinkedHashMap<>();
+        ratingCounts.put(5, counts.getRating5());
+        ratingCounts.put(4, counts.getRating4());
+        ratingCounts.put(3, counts.getRating3());
+        ratingCounts.put(2, counts.getRating2());
+        ratingCounts.put(1, counts.getRating1());
+        
+        // Total and average come from the same row as the histogram, so they always agree with it
+        int totalReviews = 0;
+        int ratingSum = 0;
+        for (Map.Entry<Integer, Integer> entry : ratingCounts.entrySet()) {
+            totalReviews += entry.getValue();
+            ratingSum += entry.getKey() * entry.getValue();
+        }
+        BigDecimal ratingAverage = totalReviews == 0 ? BigDecimal.ZERO.setScale(1)
+                : BigDecimal.valueOf(ratingSum).divide(BigDecimal.valueOf(totalReviews), 1, RoundingMode.HALF_UP);
+        
+        int size = latest == null || latest < 0 ? DEFAULT_SUMMARY_REVIEWS : Math.min(latest, MAX_SUMMARY_REVIEWS);
+        List<ReviewResponse> latestReviews = size == 0 ? List.of()
+                : reviewRepository.findResponsePageByShopId(shopId, PageRequest.of(0, size));
+        
+        return ReviewSummaryResponse.builder()
+                .shopId(shopId)
+                .ratingAverage(ratingAverage)
+                .totalReviews(totalReviews)
+                .ratingCounts(ratingCounts)
+                .latestReviews(latestReviews)
+                .build();
     }
     
     public List<ReviewResponse> getReviewsByCustomer(Long customerId) {
-        return reviewRepository.findByCustomerId(customerId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return reviewRepository.findResponsesByCustomerId(customerId);
     }
     
+    @Transactional(readOnly = true)
     public ReviewResponse getReviewById(Long id) {
         Review review = reviewRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Review not found"));
@@ -57,6 +129,7 @@ public class ReviewService {
         if (reviewRepository.findByOrderId(orderId).isPresent()) {
             throw new RuntimeException("Review already exists for this order");
         }
+        validateRating(rating);
         
         Review review = new Review();
         review.setOrder(order);
@@ -66,10 +139,44 @@ public class ReviewService {
         review.setComment(comment);
         review.setImages(images);
         
+        review = reviewRepository.save(review);
+        ratingAggregator.onReviewCreated(order.getShop().getId(), rating);
+        eventPublisher.publishEvent(new ReviewCreatedEvent(review.getId(), orderId, order.getOrderCode(),
+                order.getShop().getId(), order.getShop().getUser().getId(), rating));
+        return mapToResponse(review);
+    }
+    
+    @Transactional
+    public ReviewResponse updateReview(Long reviewId, Integer rating, String comment, String images) {
+        Review review = reviewRepository.findById(reviewId)
+                .orElseThrow(() -> new RuntimeException("Review not found"));
+        
+        if (rating != null) {
+            validateRating(rating);
+            int oldRating = review.getRating();
+            review.setRating(rating);
+            ratingAggregator.onReviewUpdated(review.getShop().getId(), oldRating, rating);
+        }
+        if (comment != null) {
+            review.setComment(comment);
+        }
+        if (images != null) {
+            review.setImages(images);
+        }
+        
         review = reviewRepository.save(review);
         return mapToResponse(review);
     }
     
+    @Transactional
+    public void deleteReview(Long reviewId) {
+        Review review = reviewRepository.findById(reviewId)
+                .orElseThrow(() -> new RuntimeException("Review not found"));
+        
+        reviewRepository.delete(review);
+        ratingAggregator.onReviewDeleted(review.getShop().getId(), review.getRating());
+    }
+    
     @Transactional
     public ReviewResponse addShopReply(Long reviewId, String reply) {
         Review review = reviewRepository.findById(reviewId)
@@ -79,9 +186,17 @@ public class ReviewService {
         review.setRepliedAt(OffsetDateTime.now());
         
         review = reviewRepository.save(review);
+        eventPublisher.publishEvent(new ReviewRepliedEvent(review.getId(), review.getOrder().getId(),
+                review.getCustomer().getId()));
         return mapToResponse(review);
     }
     
+    private void validateRating(Integer rating) {
+        if (rating == null || rating < 1 || rating > 5) {
+            throw new RuntimeException("Rating must be between 1 and 5");
+        }
+    }
+    
     private ReviewResponse mapToResponse(Review review) {
         return ReviewResponse.builder()
                 .id(review.getId())
@@ -0,0 +1,66 @@
+package com.foodapp.service;
+
+import com.foodapp.event.ShopRatingChangedEvent;
+import com.foodapp.repository.ShopRatingCountRepository;
+import com.foodapp.repository.ShopRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Keeps shops.rating_sum, total_reviews, rating_average and the shop_rating_counts
+ * star histogram in step with reviews.
+ * <p>
+ * Review writes apply an O(1) delta in the same transaction as the review itself; the
+ * arithmetic happens inside a single UPDATE so concurrent reviews cannot lose an update.
+ * A periodic reconciliation recomputes the aggregates from the reviews table and repairs
+ * any shop that drifted (e.g. reviews edited directly in the database).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShopRatingAggregator {
+    
+    private final ShopRepository shopRepository;
+    private final ShopRatingCountRepository ratingCountRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    @Transactional
+    public void onReviewCreated(Long shopId, int rating) {
+        ratingCountRepository.applyDelta(shopId, rating, 1);
+        apply(shopId, rating, 1);
+    }
+    
+    @Transactional
+    public void onReviewUpdated(Long shopId, int oldRating, int newRating) {
+        if (oldRating != newRating) {
+            ratingCountRepository.applyDelta(shopId, oldRating, -1);
+            ratingCountRepository.applyDelta(shopId, newRating, 1);
+            apply(shopId, newRating - oldRating, 0);
+        }
+    }
+    
+    @Transactional
+    public void onReviewDeleted(Long shopId, int rating) {
+        ratingCountRepository.applyDelta(shopId, rating, -1);
+        apply(shopId, -rating, -1);
+    }
+    
+    @Scheduled(fixedDelayString = "${app.rating.reconcile-interval-ms:3600000}", initialDelay = 60_000)
+    @Transactional
+    public void reconcile() {
+        int fixed = shopRepository.reconcileRatings();
+        int fixedHistograms = ratingCountRepository.reconcile();
+        if (fixed > 0 || fixedHistograms > 0) {
+            log.warn("Rating reconciliation repaired {} shop aggregate(s) and {} histogram(s)", fixed, fixedHistograms);
+        }
+    }
+    
+    private void apply(Long shopId, long sumDelta, int countDelta) {
+        shopRepository.applyRatingDelta(shopId, sumDelta, countDelta);
+        eventPublisher.publishEvent(new ShopRatingChangedEvent(shopId));
+    }
+}
@@ -1,18 +1,26 @@
 package com.foodapp.service;
 
+import com.foodapp.cache.CatalogCacheNames;
 import com.foodapp.dto.response.CategoryResponse;
 import com.foodapp.dto.response.ShopResponse;
 import com.foodapp.entity.Shop;
 import com.foodapp.entity.ShopCategory;
 import com.foodapp.entity.User;
 import com.foodapp.entity.enums.ShopStatus;
+import com.foodapp.event.ShopChangedEvent;
 import com.foodapp.repository.ShopRepository;
 import com.foodapp.repository.UserRepository;
+import com.foodapp.search.CatalogSearchIndex;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,43 +29,72 @@ public class ShopService {
     
     private final ShopRepository shopRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CatalogSearchIndex searchIndex;
     
+    private static final int MAX_SEARCH_RESULTS = 50;
+    
+    @Transactional(readOnly = true)
     public List<ShopResponse> getAllShops() {
         return shopRepository.findAll().stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
+    @Cacheable(CatalogCacheNames.ACTIVE_SHOPS)
     public List<ShopResponse> getActiveShops() {
         return shopRepository.findByStatus(ShopStatus.active).stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public ShopResponse getShopById(Long id) {
         Shop shop = shopRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Shop not found"));
         return mapToResponse(shop);
     }
     
+    @Transactional(readOnly = true)
     public List<ShopResponse> getShopsByUserId(Long userId) {
         return shopRepository.findByUserId(userId).stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<ShopResponse> searchShops(String keyword) {
-        return shopRepository.searchByName(keyword).stream()
+        if (!searchIndex.isReady()) {
+            return shopRepository.searchByName(keyword).stream()
+                    .map(this::mapToResponse)
+                    .collect(Collectors.toList());
+        }
+        
+        // The index covers every shop; inactive ones are dropped by the load query.
+        // Ask for extra hits so filtering does not starve the result.
+        List<Long> ids = searchIndex.searchShops(keyword, MAX_SEARCH_RESULTS * 2);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Shop> shops = shopRepository.findActiveWithCategoriesByIdIn(ids).stream()
+                .collect(Collectors.toMap(Shop::getId, Function.identity()));
+        return ids.stream()
+                .map(shops::get)
+                .filter(Objects::nonNull)
+                .limit(MAX_SEARCH_RESULTS)
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<ShopResponse> getShopsByCategory(Long categoryId) {
         return shopRepository.findByCategoryId(categoryId).stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<ShopResponse> getTopRatedShops() {
         return shopRepository.findTopRatedShops().stream()
                 .map(this::mapToResponse)
@@ -80,6 +117,7 @@ public class ShopService {
         shop.setStatus(ShopStatus.pending);
         
         shop = shopRepository.save(shop);
+        eventPublisher.publishEvent(new ShopChangedEvent(shop.getId()));
         return mapToResponse(shop);
     }
     
@@ -108,6 +146,7 @@ public class ShopService {
         }
         
         shop = shopRepository.save(shop);
+        eventPublisher.publishEvent(new ShopChangedEvent(shop.getId()));
         return mapToResponse(shop);
     }
     
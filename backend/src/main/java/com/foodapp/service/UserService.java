@@ -1,5 +1,7 @@
 package com.foodapp.service;
 
+import com.foodapp.activity.ActivityActions;
+import com.foodapp.activity.ActivityLogWriter;
 import com.foodapp.dto.request.LoginRequest;
 import com.foodapp.dto.request.RegisterRequest;
 import com.foodapp.dto.request.UpdateProfileRequest;
@@ -9,8 +11,9 @@ import com.foodapp.entity.User;
 import com.foodapp.entity.enums.UserRole;
 import com.foodapp.entity.enums.UserStatus;
 import com.foodapp.repository.UserRepository;
+import com.foodapp.security.JwtService;
+import com.foodapp.security.PasswordHashingService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,9 +25,14 @@ import java.util.stream.Collectors;
 public class UserService {
     
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final JwtService jwtService;
+    private final ActivityLogWriter activityLogWriter;
     
-    @Transactional
+    /**
+     * Not transactional: the hash is computed between the checks and the insert, with no
+     * pooled connection held while it waits for the hashing executor.
+     */
     public UserResponse register(RegisterRequest request) {
         if (userRepository.existsByEmail(request.getEmail())) {
             throw new RuntimeException("Email already exists");
@@ -36,7 +44,7 @@ public class UserService {
         
         User user = new User();
         user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHashingService.encode(request.getPassword()));
         user.setFullName(request.getFullName());
         user.setPhone(request.getPhone() != null ? request.getPhone() : "");
         user.setUserRole(UserRole.customer);
@@ -51,12 +59,17 @@ public class UserService {
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new RuntimeException("Invalid email or password"));
         
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordHashingService.matches(request.getPassword(), user.getPassword())) {
             throw new RuntimeException("Invalid email or password");
         }
+        Long userId = user.getId();
+        String verifiedHash = user.getPassword();
+        // Skipped (0 rows) if the password was changed while the upgrade was hashing
+        passwordHashingService.upgradeIfNeeded(request.getPassword(), verifiedHash,
+                hash -> userRepository.replacePassword(userId, verifiedHash, hash));
         
-        // Trong thực tế, bạn sẽ tạo JWT token ở đây
-        String token = "dummy-jwt-token-" + user.getId();
+        String token = jwtService.issueToken(user);
+        activityLogWriter.log(userId, ActivityActions.LOGIN, "Login with email");
         
         return AuthResponse.builder()
                 .token(token)
@@ -127,12 +140,12 @@ public class UserService {
         return mapToUserResponse(user);
     }
     
-    @Transactional
+    // Not transactional, like register: read, hash without a connection, then one UPDATE
     public void changePassword(Long userId, String currentPassword, String newPassword) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         
-        if (!passwordEncoder.matches(currentPassword, user.getPassword())) {
+        if (!passwordHashingService.matches(currentPassword, user.getPassword())) {
             throw new RuntimeException("Current password is incorrect");
         }
         
@@ -140,8 +153,10 @@ public class UserService {
             throw new RuntimeException("New password must be at least 6 characters");
         }
         
-        user.setPassword(passwordEncoder.encode(newPassword));
-        userRepository.save(user);
+        // Only replaces the hash that was just verified; a concurrent change wins
+        if (userRepository.replacePassword(userId, user.getPassword(), passwordHashingService.encode(newPassword)) == 0) {
+            throw new RuntimeException("Current password is incorrect");
+        }
     }
     
     /**
@@ -181,7 +196,7 @@ public class UserService {
             user.setAvatar(request.getAvatar());
             user.setPhone(request.getPhone() != null ? request.getPhone() : "");
             // Tạo password ngẫu nhiên cho OAuth user (họ không cần dùng password)
-            user.setPassword(passwordEncoder.encode(java.util.UUID.randomUUID().toString()));
+            user.setPassword(passwordHashingService.encode(java.util.UUID.randomUUID().toString()));
             user.setUserRole(UserRole.customer);
             user.setUserStatus(UserStatus.active);
             user.setIsVerified(true);
@@ -0,0 +1,69 @@
+package com.foodapp.perf;
+
+import com.foodapp.dto.response.CartItemResponse;
+import com.foodapp.dto.response.FoodItemResponse;
+import com.foodapp.service.CartService;
+import com.foodapp.service.FoodItemService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CartService reads (one JDBC join query mapped row by row) and the BigDecimal line total each row computes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CartBenchmark {
+    
+    private PerfContext context;
+    private CartService cartService;
+    private List<FoodItemResponse> menu;
+    
+    @Setup(Level.Trial)
+    public void setUp(PerfContext context) {
+        this.context = context;
+        cartService = context.bean(CartService.class);
+        FoodItemService foodItemService = context.bean(FoodItemService.class);
+        menu = context.inSession(foodItemService::getAllFoodItems);
+    }
+    
+    @Benchmark
+    public List<CartItemResponse> getCartByUserId() {
+        return context.inSession(() -> cartService.getCartByUserId(8L));
+    }
+    
+    @Benchmark
+    public List<CartItemResponse> getCartByUserAndShop() {
+        return context.inSession(() -> cartService.getCartByUserAndShop(8L, 1L));
+    }
+    
+    /**
+     * CartItemResponse#subtotal, as called for every cart line, summed over the whole sample menu at quantity 1..3.
+     */
+    @Benchmark
+    public BigDecimal priceMath() {
+        BigDecimal total = BigDecimal.ZERO;
+        int quantity = 1;
+        for (FoodItemResponse item : menu) {
+            total = total.add(CartItemResponse.subtotal(item.getPrice(), item.getDiscountPrice(), quantity));
+            quantity = quantity % 3 + 1;
+        }
+        return total;
+    }
+}
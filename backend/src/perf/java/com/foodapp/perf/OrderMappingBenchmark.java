@@ -0,0 +1,55 @@
+package com.foodapp.perf;
+
+import com.foodapp.dto.response.CursorPage;
+import com.foodapp.dto.response.OrderResponse;
+import com.foodapp.service.OrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OrderService read paths: order + parties fetch, one item query, then mapToResponse.
+ * Sample data: order 1 has 3 items, customer 8 has 2 orders.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderMappingBenchmark {
+    
+    private PerfContext context;
+    private OrderService orderService;
+    
+    @Setup(Level.Trial)
+    public void setUp(PerfContext context) {
+        this.context = context;
+        orderService = context.bean(OrderService.class);
+    }
+    
+    @Benchmark
+    public OrderResponse getOrderById() {
+        return context.inSession(() -> orderService.getOrderById(1L));
+    }
+    
+    @Benchmark
+    public OrderResponse getOrderByCode() {
+        return context.inSession(() -> orderService.getOrderByCode("ORD001"));
+    }
+    
+    @Benchmark
+    public CursorPage<OrderResponse> getOrdersByCustomer() {
+        return context.inSession(() -> orderService.getOrdersByCustomer(8L, null, 20));
+    }
+}
@@ -0,0 +1,24 @@
+package com.foodapp.perf;
+
+import com.foodapp.FoodAppApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Boots the backend with the "perf" profile (H2 seeded from supabase/02_sample_data.sql).
+ */
+public final class PerfApplication {
+    
+    private PerfApplication() {
+    }
+    
+    public static ConfigurableApplicationContext start(WebApplicationType webApplicationType, String... args) {
+        // DevTools is on the runtime classpath; its restart classloader would boot the app twice
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        SpringApplication application = new SpringApplication(FoodAppApplication.class);
+        application.setAdditionalProfiles("perf");
+        application.setWebApplicationType(webApplicationType);
+        return application.run(args);
+    }
+}
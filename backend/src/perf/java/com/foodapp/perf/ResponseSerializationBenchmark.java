@@ -0,0 +1,111 @@
+package com.foodapp.perf;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodapp.dto.response.ApiResponse;
+import com.foodapp.dto.response.CursorPage;
+import com.foodapp.dto.response.OrderItemResponse;
+import com.foodapp.dto.response.OrderResponse;
+import com.foodapp.dto.response.ShopResponse;
+import com.foodapp.service.OrderService;
+import com.foodapp.service.ShopService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * DTO builders and ApiResponse serialization with the ObjectMapper Spring MVC uses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+    
+    private ObjectMapper objectMapper;
+    private OrderResponse order;
+    private CursorPage<OrderResponse> orderPage;
+    private List<ShopResponse> shops;
+    
+    @Setup(Level.Trial)
+    public void setUp(PerfContext context) {
+        objectMapper = context.bean(ObjectMapper.class);
+        OrderService orderService = context.bean(OrderService.class);
+        order = context.inSession(() -> orderService.getOrderById(1L));
+        orderPage = context.inSession(() -> orderService.getOrdersByCustomer(8L, null, 20));
+        ShopService shopService = context.bean(ShopService.class);
+        shops = context.inSession(shopService::getActiveShops);
+    }
+    
+    /**
+     * The builder chain of OrderService#mapToResponse, fed from an already mapped order.
+     */
+    @Benchmark
+    public OrderResponse buildOrderResponse() {
+        List<OrderItemResponse> items = order.getOrderItems().stream()
+                .map(item -> OrderItemResponse.builder()
+                        .id(item.getId())
+                        .foodItemId(item.getFoodItemId())
+                        .foodName(item.getFoodName())
+                        .foodPrice(item.getFoodPrice())
+                        .quantity(item.getQuantity())
+                        .note(item.getNote())
+                        .subtotal(item.getSubtotal())
+                        .foodImage(item.getFoodImage())
+                        .build())
+                .collect(Collectors.toList());
+        return OrderResponse.builder()
+                .id(order.getId())
+                .orderCode(order.getOrderCode())
+                .customerId(order.getCustomerId())
+                .customerName(order.getCustomerName())
+                .shopId(order.getShopId())
+                .shopName(order.getShopName())
+                .deliveryAddress(order.getDeliveryAddress())
+                .deliveryPhone(order.getDeliveryPhone())
+                .deliveryNote(order.getDeliveryNote())
+                .subtotal(order.getSubtotal())
+                .deliveryFee(order.getDeliveryFee())
+                .discountAmount(order.getDiscountAmount())
+                .totalAmount(order.getTotalAmount())
+                .paymentMethod(order.getPaymentMethod())
+                .paymentStatus(order.getPaymentStatus())
+                .orderStatus(order.getOrderStatus())
+                .cancelReason(order.getCancelReason())
+                .estimatedDeliveryTime(order.getEstimatedDeliveryTime())
+                .createdAt(order.getCreatedAt())
+                .confirmedAt(order.getConfirmedAt())
+                .completedAt(order.getCompletedAt())
+                .orderItems(items)
+                .build();
+    }
+    
+    @Benchmark
+    public byte[] serializeOrder() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ApiResponse.success(order));
+    }
+    
+    @Benchmark
+    public byte[] serializeOrderPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ApiResponse.page(orderPage));
+    }
+    
+    @Benchmark
+    public byte[] serializeShops() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ApiResponse.success(shops));
+    }
+}
@@ -0,0 +1,80 @@
+package com.foodapp.perf;
+
+import com.foodapp.dto.response.FoodItemResponse;
+import com.foodapp.dto.response.ShopResponse;
+import com.foodapp.search.Suggestion;
+import com.foodapp.search.SuggestionService;
+import com.foodapp.search.TextNormalizer;
+import com.foodapp.service.FoodItemService;
+import com.foodapp.service.ShopService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search path: inverted index lookup + entity fetch, prefix suggestions and accent folding.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+    
+    // Unaccented, as typed on most phone keyboards; fold() gets the accented spelling.
+    // Non-ASCII @Param values would be mangled by the fork's default charset on JDK 17.
+    @Param({"pho", "com tam", "tra sua"})
+    private String keyword;
+    
+    private String accentedKeyword;
+    private PerfContext context;
+    private FoodItemService foodItemService;
+    private ShopService shopService;
+    private SuggestionService suggestionService;
+    
+    @Setup(Level.Trial)
+    public void setUp(PerfContext context) {
+        this.context = context;
+        foodItemService = context.bean(FoodItemService.class);
+        shopService = context.bean(ShopService.class);
+        suggestionService = context.bean(SuggestionService.class);
+        accentedKeyword = switch (keyword) {
+            case "pho" -> "Phở";
+            case "com tam" -> "Cơm Tấm";
+            default -> "Trà Sữa";
+        };
+    }
+    
+    @Benchmark
+    public List<FoodItemResponse> searchFoodItems() {
+        return context.inSession(() -> foodItemService.searchFoodItems(keyword));
+    }
+    
+    @Benchmark
+    public List<ShopResponse> searchShops() {
+        return context.inSession(() -> shopService.searchShops(keyword));
+    }
+    
+    @Benchmark
+    public List<Suggestion> suggest() {
+        return suggestionService.suggest(keyword.substring(0, 2), SuggestionService.DEFAULT_LIMIT);
+    }
+    
+    @Benchmark
+    public String fold() {
+        return TextNormalizer.fold(accentedKeyword);
+    }
+}
@@ -0,0 +1,141 @@
+package com.foodapp.perf.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs LoadTest against the backend booted with platform threads, then with
+ * spring.threads.virtual.enabled=true (plus the connection limiter that follows it), and writes
+ * both results side by side to execution-modes.json and execution-modes.html. Each run gets its
+ * own JVM, so neither inherits the other's JIT warmup or H2 data.
+ *
+ * <pre>
+ * mvn -Pperf test-compile exec:exec@execution-modes -Dperf.java=$JAVA21_HOME/bin/java -Dload.args="--users=200"
+ * </pre>
+ * Takes the LoadTest options except --base-url; each mode writes its own report under --out.
+ */
+public class ExecutionModeComparison {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    record Report(List<LoadReport> runs) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path out = Path.of("target/load-test");
+        List<String> loadTestArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--out=")) {
+                out = Path.of(arg.substring("--out=".length()));
+            } else if (arg.startsWith("--base-url=") || arg.startsWith("--spring.threads.virtual.enabled=")) {
+                throw new IllegalArgumentException(arg + " is set by the comparison for each run");
+            } else {
+                loadTestArgs.add(arg);
+            }
+        }
+
+        List<LoadReport> runs = new ArrayList<>();
+        for (boolean virtualThreads : new boolean[] {false, true}) {
+            Path runOut = out.resolve(LoadReport.threadMode(virtualThreads));
+            runs.add(runLoadTest(loadTestArgs, virtualThreads, runOut));
+        }
+        if (!Boolean.TRUE.equals(runs.get(1).serverVirtualThreads())) {
+            System.out.println("WARNING: the backend did not switch to virtual threads (Java "
+                    + runs.get(1).javaVersion() + "); run with -Dperf.java pointing to JDK 21 or later");
+        }
+
+        Report report = new Report(runs);
+        Files.createDirectories(out);
+        OBJECT_MAPPER.writeValue(out.resolve("execution-modes.json").toFile(), report);
+        Files.writeString(out.resolve("execution-modes.html"), toHtml(report), StandardCharsets.UTF_8);
+        System.out.print(toText(report));
+        System.out.println("Report written to " + out.resolve("execution-modes.html").toAbsolutePath());
+    }
+
+    private static LoadReport runLoadTest(List<String> loadTestArgs, boolean virtualThreads, Path out)
+            throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse(Path.of(System.getProperty("java.home"), "bin", "java").toString()));
+        String sampleData = System.getProperty("foodapp.sample-data");
+        if (sampleData != null) {
+            command.add("-Dfoodapp.sample-data=" + sampleData);
+        }
+        command.add("-classpath");
+        command.add(System.getProperty("java.class.path"));
+        command.add(LoadTest.class.getName());
+        command.addAll(loadTestArgs);
+        command.add("--spring.threads.virtual.enabled=" + virtualThreads);
+        command.add("--out=" + out);
+
+        int exitCode = new ProcessBuilder(command).inheritIO().start().waitFor();
+        if (exitCode != 0) {
+            throw new IllegalStateException("Load test with virtual threads " + virtualThreads + " exited with " + exitCode);
+        }
+        return OBJECT_MAPPER.readValue(out.resolve("load-test-report.json").toFile(), LoadReport.class);
+    }
+
+    private static String toText(Report report) {
+        StringBuilder text = new StringBuilder(String.format("%n%-16s %9s %7s %9s %9s %9s %9s%n",
+                "server threads", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms"));
+        for (LoadReport run : report.runs()) {
+            LoadReport.EndpointStats total = run.total();
+            text.append(String.format("%-16s %9d %7d %9.2f %9.2f %9.2f %9.2f%n",
+                    LoadReport.threadMode(run.serverVirtualThreads()), total.requests(), total.errors(),
+                    total.requestsPerSecond(), total.p50Ms(), total.p95Ms(), total.p99Ms()));
+        }
+        return text.toString();
+    }
+
+    private static String toHtml(Report report) {
+        LoadReport first = report.runs().get(0);
+        StringBuilder html = new StringBuilder()
+                .append("<!DOCTYPE html>\n<html><head><meta charset=\"utf-8\"><title>FoodApp execution modes</title>\n")
+                .append("<style>body{font-family:sans-serif}table{border-collapse:collapse}")
+                .append("th,td{border:1px solid #ccc;padding:4px 10px;text-align:right}")
+                .append("th:first-child,td:first-child{text-align:left}tr.total{font-weight:bold}</style>\n")
+                .append("</head><body>\n<h1>FoodApp execution modes</h1>\n<p>")
+                .append(first.users()).append(" users, ")
+                .append(first.warmupSeconds()).append(" s warmup + ").append(first.durationSeconds()).append(" s measured")
+                .append(" &middot; Java ").append(LoadReport.escape(first.javaVersion()))
+                .append("</p>\n<table>\n<tr><th rowspan=\"2\">Endpoint</th>");
+        for (LoadReport run : report.runs()) {
+            html.append("<th colspan=\"4\">Server: ").append(LoadReport.threadMode(run.serverVirtualThreads()))
+                    .append(" threads</th>");
+        }
+        html.append("</tr>\n<tr>");
+        for (int i = 0; i < report.runs().size(); i++) {
+            html.append("<th>Req/s</th><th>Errors</th><th>p95 ms</th><th>p99 ms</th>");
+        }
+        html.append("</tr>\n");
+        for (int row = 0; row <= first.endpoints().size(); row++) {
+            boolean total = row == first.endpoints().size();
+            String endpoint = total ? first.total().endpoint() : first.endpoints().get(row).endpoint();
+            html.append(total ? "<tr class=\"total\">" : "<tr>").append("<td>").append(LoadReport.escape(endpoint)).append("</td>");
+            for (LoadReport run : report.runs()) {
+                LoadReport.EndpointStats stats = total ? run.total() : find(run, endpoint);
+                if (stats == null) {
+                    html.append("<td colspan=\"4\"></td>");
+                } else {
+                    html.append(String.format("<td>%.2f</td><td>%d</td><td>%.2f</td><td>%.2f</td>",
+                            stats.requestsPerSecond(), stats.errors(), stats.p95Ms(), stats.p99Ms()));
+                }
+            }
+            html.append("</tr>\n");
+        }
+        return html.append("</table>\n</body></html>\n").toString();
+    }
+
+    private static LoadReport.EndpointStats find(LoadReport run, String endpoint) {
+        return run.endpoints().stream()
+                .filter(stats -> stats.endpoint().equals(endpoint))
+                .findFirst()
+                .orElse(null);
+    }
+}
@@ -0,0 +1,207 @@
+package com.foodapp.perf.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The customer journey driven by each virtual user: browse shops, open a menu, add to cart,
+ * checkout, then poll the order status. Each request is timed per endpoint template.
+ */
+class Journey {
+    
+    static final String BROWSE_SHOPS = "GET /shops/active";
+    static final String OPEN_MENU = "GET /food-items/shop/{shopId}";
+    static final String ADD_TO_CART = "POST /cart";
+    static final String CHECKOUT = "POST /orders";
+    static final String POLL_ORDER = "GET /orders/{id}";
+    static final List<String> ENDPOINTS = List.of(BROWSE_SHOPS, OPEN_MENU, ADD_TO_CART, CHECKOUT, POLL_ORDER);
+    
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final int polls;
+    private final long thinkMillis;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, LatencyRecorder> recorders = new ConcurrentHashMap<>();
+    private final LatencyRecorder total = new LatencyRecorder("TOTAL");
+    private final AtomicLong completedJourneys = new AtomicLong();
+    private volatile boolean recording;
+    
+    Journey(HttpClient httpClient, String baseUrl, int polls, long thinkMillis) {
+        this.httpClient = httpClient;
+        this.baseUrl = baseUrl;
+        this.polls = polls;
+        this.thinkMillis = thinkMillis;
+        ENDPOINTS.forEach(endpoint -> recorders.put(endpoint, new LatencyRecorder(endpoint)));
+    }
+    
+    void startRecording() {
+        recording = true;
+    }
+    
+    long completedJourneys() {
+        return completedJourneys.get();
+    }
+    
+    List<LoadReport.EndpointStats> stats(double seconds) {
+        List<LoadReport.EndpointStats> stats = new ArrayList<>();
+        ENDPOINTS.forEach(endpoint -> stats.add(recorders.get(endpoint).stats(seconds)));
+        return stats;
+    }
+    
+    LoadReport.EndpointStats totalStats(double seconds) {
+        return total.stats(seconds);
+    }
+    
+    /**
+     * Registers the customer a virtual user shops as; not part of the measured journey.
+     * runId is a 4-digit run number, so phones stay unique when reusing a database.
+     */
+    Customer registerCustomer(String runId, int index) throws IOException, InterruptedException {
+        String phone = String.format("08%s%04d", runId, index);
+        Map<String, Object> body = Map.of(
+                "email", "loadtest-" + runId + "-" + index + "@example.com",
+                "password", "loadtest-" + runId,
+                "fullName", "Load Test " + index,
+                "phone", phone);
+        HttpResponse<String> response = httpClient.send(post("/auth/register", body), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Register failed: " + response.statusCode() + " " + response.body());
+        }
+        long id = objectMapper.readTree(response.body()).path("data").path("id").asLong();
+        return new Customer(id, phone);
+    }
+    
+    void run(Customer customer) throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        
+        JsonNode shops = call(BROWSE_SHOPS, get("/shops/active"));
+        if (shops == null || shops.isEmpty()) {
+            return;
+        }
+        long shopId = shops.get(random.nextInt(shops.size())).path("id").asLong();
+        think();
+        
+        JsonNode menu = call(OPEN_MENU, get("/food-items/shop/" + shopId));
+        if (menu == null || menu.isEmpty()) {
+            return;
+        }
+        think();
+        
+        int lines = 1 + random.nextInt(Math.min(3, menu.size()));
+        for (int i = 0; i < lines; i++) {
+            long foodItemId = menu.get(random.nextInt(menu.size())).path("id").asLong();
+            Map<String, Object> item = Map.of(
+                    "userId", customer.id(),
+                    "shopId", shopId,
+                    "foodItemId", foodItemId,
+                    "quantity", 1 + random.nextInt(2));
+            if (call(ADD_TO_CART, post("/cart", item)) == null) {
+                return;
+            }
+        }
+        think();
+        
+        Map<String, Object> checkout = Map.of(
+                "customerId", customer.id(),
+                "shopId", shopId,
+                "deliveryAddress", "1 Load Test Street, District 1",
+                "deliveryPhone", customer.phone(),
+                "paymentMethod", "COD");
+        JsonNode order = call(CHECKOUT, post("/orders", checkout));
+        if (order == null) {
+            return;
+        }
+        
+        long orderId = order.path("id").asLong();
+        for (int i = 0; i < polls; i++) {
+            think();
+            if (call(POLL_ORDER, get("/orders/" + orderId)) == null) {
+                return;
+            }
+        }
+        if (recording) {
+            completedJourneys.incrementAndGet();
+        }
+    }
+    
+    /**
+     * Sends the request and returns the ApiResponse data, or null when the call failed.
+     */
+    private JsonNode call(String endpoint, HttpRequest request) throws InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            recordError(endpoint);
+            return null;
+        }
+        long elapsed = System.nanoTime() - start;
+        if (recording) {
+            recorders.get(endpoint).record(elapsed);
+            total.record(elapsed);
+        }
+        if (response.statusCode() / 100 != 2) {
+            recordError(endpoint);
+            return null;
+        }
+        try {
+            return objectMapper.readTree(response.body()).path("data");
+        } catch (IOException e) {
+            recordError(endpoint);
+            return null;
+        }
+    }
+    
+    private void recordError(String endpoint) {
+        if (recording) {
+            recorders.get(endpoint).recordError();
+            total.recordError();
+        }
+    }
+    
+    private void think() throws InterruptedException {
+        if (thinkMillis > 0) {
+            Thread.sleep(thinkMillis);
+        }
+    }
+    
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+    }
+    
+    private HttpRequest post(String path, Map<String, Object> body) {
+        try {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .header("Accept", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot serialize request body", e);
+        }
+    }
+    
+    record Customer(long id, String phone) {
+    }
+}
@@ -0,0 +1,68 @@
+package com.foodapp.perf.load;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps every latency sample of one endpoint so percentiles are exact, not bucketed.
+ * A load-test run records at most a few million samples; contention on the lock is
+ * negligible next to an HTTP round trip.
+ */
+class LatencyRecorder {
+    
+    private final String endpoint;
+    private final AtomicLong errors = new AtomicLong();
+    private long[] samples = new long[1024];
+    private int count;
+    
+    LatencyRecorder(String endpoint) {
+        this.endpoint = endpoint;
+    }
+    
+    synchronized void record(long nanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+    }
+    
+    void recordError() {
+        errors.incrementAndGet();
+    }
+    
+    synchronized LoadReport.EndpointStats stats(double seconds) {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        long total = 0;
+        for (long sample : sorted) {
+            total += sample;
+        }
+        return new LoadReport.EndpointStats(
+                endpoint,
+                count,
+                errors.get(),
+                round(count / seconds),
+                millis(count == 0 ? 0 : total / count),
+                millis(percentile(sorted, 50)),
+                millis(percentile(sorted, 95)),
+                millis(percentile(sorted, 99)),
+                millis(count == 0 ? 0 : sorted[count - 1]));
+    }
+    
+    // Nearest-rank percentile
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+    
+    private static double millis(long nanos) {
+        return round(nanos / 1_000_000.0);
+    }
+    
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
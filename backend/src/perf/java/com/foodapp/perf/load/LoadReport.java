@@ -0,0 +1,104 @@
+package com.foodapp.perf.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Result of one load-test run, written as load-test-report.json (for diffing between releases)
+ * and load-test-report.html (for reading).
+ */
+record LoadReport(
+        String startedAt,
+        String baseUrl,
+        String javaVersion,
+        Boolean serverVirtualThreads,
+        boolean clientVirtualThreads,
+        int users,
+        int warmupSeconds,
+        int durationSeconds,
+        int journeys,
+        List<EndpointStats> endpoints,
+        EndpointStats total) {
+    
+    record EndpointStats(
+            String endpoint,
+            long requests,
+            long errors,
+            double requestsPerSecond,
+            double meanMs,
+            double p50Ms,
+            double p95Ms,
+            double p99Ms,
+            double maxMs) {
+    }
+    
+    void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(directory.resolve("load-test-report.json").toFile(), this);
+        Files.writeString(directory.resolve("load-test-report.html"), toHtml(), StandardCharsets.UTF_8);
+    }
+    
+    String toText() {
+        StringBuilder text = new StringBuilder(String.format("%-32s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        for (EndpointStats stats : endpoints) {
+            appendRow(text, stats);
+        }
+        appendRow(text, total);
+        return text.toString();
+    }
+    
+    static String threadMode(Boolean virtualThreads) {
+        return virtualThreads == null ? "unknown" : virtualThreads ? "virtual" : "platform";
+    }
+    
+    private static void appendRow(StringBuilder text, EndpointStats stats) {
+        text.append(String.format("%-32s %9d %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                stats.endpoint(), stats.requests(), stats.errors(), stats.requestsPerSecond(),
+                stats.p50Ms(), stats.p95Ms(), stats.p99Ms(), stats.maxMs()));
+    }
+    
+    private String toHtml() {
+        StringBuilder html = new StringBuilder()
+                .append("<!DOCTYPE html>\n<html><head><meta charset=\"utf-8\"><title>FoodApp load test</title>\n")
+                .append("<style>body{font-family:sans-serif}table{border-collapse:collapse}")
+                .append("th,td{border:1px solid #ccc;padding:4px 10px;text-align:right}")
+                .append("th:first-child,td:first-child{text-align:left}tr.total{font-weight:bold}</style>\n")
+                .append("</head><body>\n<h1>FoodApp load test</h1>\n<p>")
+                .append(escape(startedAt)).append(" &middot; ").append(escape(baseUrl))
+                .append(" &middot; ").append(users).append(" users, ")
+                .append(warmupSeconds).append(" s warmup + ").append(durationSeconds).append(" s measured")
+                .append(" &middot; ").append(journeys).append(" journeys")
+                .append(" &middot; Java ").append(escape(javaVersion))
+                .append(" &middot; server: ").append(threadMode(serverVirtualThreads)).append(" threads")
+                .append(", client: ").append(threadMode(clientVirtualThreads)).append(" threads")
+                .append("</p>\n<table>\n<tr><th>Endpoint</th><th>Requests</th><th>Errors</th><th>Req/s</th>")
+                .append("<th>Mean ms</th><th>p50 ms</th><th>p95 ms</th><th>p99 ms</th><th>Max ms</th></tr>\n");
+        for (EndpointStats stats : endpoints) {
+            appendHtmlRow(html, stats, "");
+        }
+        appendHtmlRow(html, total, " class=\"total\"");
+        return html.append("</table>\n</body></html>\n").toString();
+    }
+    
+    private static void appendHtmlRow(StringBuilder html, EndpointStats stats, String attributes) {
+        html.append("<tr").append(attributes).append("><td>").append(escape(stats.endpoint())).append("</td>");
+        for (Object value : List.of(stats.requests(), stats.errors(), stats.requestsPerSecond(), stats.meanMs(),
+                stats.p50Ms(), stats.p95Ms(), stats.p99Ms(), stats.maxMs())) {
+            html.append("<td>").append(value).append("</td>");
+        }
+        html.append("</tr>\n");
+    }
+    
+    static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
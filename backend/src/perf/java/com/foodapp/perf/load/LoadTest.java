@@ -0,0 +1,143 @@
+package com.foodapp.perf.load;
+
+import com.foodapp.perf.PerfApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end load test: boots the backend on H2 (perf profile) unless --base-url is given,
+ * registers one customer per virtual user, runs the journey in a loop and writes
+ * p50/p95/p99 and requests per second per endpoint to JSON and HTML.
+ *
+ * <pre>
+ * mvn -Pperf test-compile exec:exec@load-test -Dload.args="--users=64 --duration=120"
+ * </pre>
+ * Options: --base-url, --users (32), --warmup (10 s), --duration (60 s), --polls (3),
+ * --think-ms (100), --out (target/load-test). Other --spring.* / --app.* options are passed
+ * to the embedded backend, e.g. --spring.threads.virtual.enabled=true on JDK 21.
+ * ExecutionModeComparison runs it once per server thread mode.
+ */
+public class LoadTest {
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        List<String> backendArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--spring.") || arg.startsWith("--app.")) {
+                backendArgs.add(arg);
+            } else if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            } else {
+                throw new IllegalArgumentException("Unknown argument " + arg);
+            }
+        }
+        int users = Integer.parseInt(options.getOrDefault("users", "32"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "60"));
+        int polls = Integer.parseInt(options.getOrDefault("polls", "3"));
+        long thinkMillis = Long.parseLong(options.getOrDefault("think-ms", "100"));
+        Path out = Path.of(options.getOrDefault("out", "target/load-test"));
+        
+        ConfigurableApplicationContext backend = null;
+        String baseUrl = options.get("base-url");
+        // Unknown for a backend started elsewhere
+        Boolean serverVirtualThreads = null;
+        if (baseUrl == null) {
+            backendArgs.add("--server.port=0");
+            backend = PerfApplication.start(WebApplicationType.SERVLET, backendArgs.toArray(String[]::new));
+            baseUrl = "http://localhost:" + backend.getEnvironment().getProperty("local.server.port")
+                    + backend.getEnvironment().getProperty("server.servlet.context-path", "");
+            // The property alone is not enough: Boot ignores it before JDK 21
+            serverVirtualThreads = Threading.VIRTUAL.isActive(backend.getEnvironment());
+        }
+        
+        ExecutorService executor = virtualThreadExecutor();
+        boolean clientVirtualThreads = executor != null;
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(users);
+        }
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        Journey journey = new Journey(httpClient, baseUrl, polls, thinkMillis);
+        
+        String runId = String.format("%04d", ThreadLocalRandom.current().nextInt(10_000));
+        List<Journey.Customer> customers = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            customers.add(journey.registerCustomer(runId, i));
+        }
+        
+        System.out.printf("Load test against %s (server: %s threads): %d users (%s threads), %d s warmup + %d s measured%n",
+                baseUrl, LoadReport.threadMode(serverVirtualThreads), users, LoadReport.threadMode(clientVirtualThreads),
+                warmupSeconds, durationSeconds);
+        Instant startedAt = Instant.now();
+        long measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long deadline = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+        for (Journey.Customer customer : customers) {
+            executor.execute(() -> {
+                try {
+                    while (System.nanoTime() < deadline) {
+                        journey.run(customer);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        TimeUnit.NANOSECONDS.sleep(measureFrom - System.nanoTime());
+        journey.startRecording();
+        long recordingStarted = System.nanoTime();
+        executor.shutdown();
+        // Journeys in flight at the deadline finish; their requests count towards the measured window
+        executor.awaitTermination(durationSeconds + 60L, TimeUnit.SECONDS);
+        double seconds = (System.nanoTime() - recordingStarted) / 1e9;
+        
+        LoadReport report = new LoadReport(
+                startedAt.toString(),
+                baseUrl,
+                System.getProperty("java.version"),
+                serverVirtualThreads,
+                clientVirtualThreads,
+                users,
+                warmupSeconds,
+                durationSeconds,
+                (int) journey.completedJourneys(),
+                journey.stats(seconds),
+                journey.totalStats(seconds));
+        report.write(out);
+        System.out.print(report.toText());
+        System.out.println("Report written to " + out.toAbsolutePath());
+        
+        if (backend != null) {
+            backend.close();
+        }
+        System.exit(0);
+    }
+    
+    /**
+     * One virtual thread per user on JDK 21+, null before that (a platform thread per user is
+     * used instead). Looked up reflectively because the project still compiles for Java 17.
+     */
+    private static ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
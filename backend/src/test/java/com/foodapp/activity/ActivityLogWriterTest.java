@@ -0,0 +1,71 @@
+package com.foodapp.activity;
+
+import com.foodapp.repository.ActivityLogJdbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class ActivityLogWriterTest {
+
+    private final ActivityLogJdbcRepository repository = mock(ActivityLogJdbcRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void retriesAFailedBatchBeforeCountingItWritten() throws InterruptedException {
+        doThrow(new DataAccessResourceFailureException("connection reset"))
+                .doThrow(new DataAccessResourceFailureException("connection reset"))
+                .doNothing()
+                .when(repository).insertAll(anyList());
+
+        ActivityLogWriter writer = writer(3);
+        writer.log(1L, "LOGIN", "first");
+        writer.log(2L, "LOGIN", "second");
+        writer.shutdown();
+
+        verify(repository, times(3)).insertAll(anyList());
+        assertThat(meterRegistry.counter("activity.log.written").count()).isEqualTo(2);
+        assertThat(meterRegistry.counter("activity.log.failed").count()).isZero();
+    }
+
+    @Test
+    void countsTheBatchFailedOnceAttemptsRunOut() throws InterruptedException {
+        doThrow(new DataAccessResourceFailureException("connection reset"))
+                .when(repository).insertAll(anyList());
+
+        ActivityLogWriter writer = writer(2);
+        writer.log(1L, "LOGIN", "only");
+        writer.shutdown();
+
+        verify(repository, times(2)).insertAll(anyList());
+        assertThat(meterRegistry.counter("activity.log.written").count()).isZero();
+        assertThat(meterRegistry.counter("activity.log.failed").count()).isEqualTo(1);
+    }
+
+    @Test
+    void writesPendingEventsOnShutdown() throws InterruptedException {
+        doNothing().when(repository).insertAll(anyList());
+
+        ActivityLogWriter writer = writer(3);
+        for (long userId = 1; userId <= 5; userId++) {
+            writer.log(userId, "ORDER_PLACED", null);
+        }
+        writer.shutdown();
+
+        assertThat(meterRegistry.counter("activity.log.written").count()).isEqualTo(5);
+        assertThat(meterRegistry.get("activity.log.buffer.size").gauge().value()).isZero();
+    }
+
+    private ActivityLogWriter writer(int insertAttempts) {
+        ActivityLogWriter writer = new ActivityLogWriter(repository, meterRegistry, 64, 500, 1, insertAttempts);
+        writer.start();
+        return writer;
+    }
+}
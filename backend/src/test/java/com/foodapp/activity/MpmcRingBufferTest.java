@@ -0,0 +1,116 @@
+package com.foodapp.activity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The ring is what ActivityLogWriter's callers and drain thread share, so it must neither lose
+ * nor duplicate an element under contention, and must report full and empty exactly.
+ */
+class MpmcRingBufferTest {
+
+    private static final int PRODUCERS = 4;
+    private static final int CONSUMERS = 4;
+    private static final int PER_PRODUCER = 20_000;
+
+    @Test
+    void reportsFullAndEmpty() {
+        MpmcRingBuffer<Integer> buffer = new MpmcRingBuffer<>(8);
+        assertThat(buffer.capacity()).isEqualTo(8);
+        assertThat(buffer.poll()).isNull();
+
+        for (int i = 0; i < 8; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+        assertThat(buffer.offer(8)).isFalse();
+        assertThat(buffer.size()).isEqualTo(8);
+
+        for (int i = 0; i < 8; i++) {
+            assertThat(buffer.poll()).isEqualTo(i);
+        }
+        assertThat(buffer.poll()).isNull();
+        assertThat(buffer.size()).isZero();
+
+        // Slots are reusable once wrapped around
+        assertThat(buffer.offer(42)).isTrue();
+        assertThat(buffer.poll()).isEqualTo(42);
+    }
+
+    @Test
+    void concurrentProducersAndConsumersNeitherLoseNorDuplicate() throws Exception {
+        // Small ring, so producers keep hitting full and consumers keep hitting empty
+        MpmcRingBuffer<Integer> buffer = new MpmcRingBuffer<>(64);
+        int total = PRODUCERS * PER_PRODUCER;
+        AtomicInteger consumed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(PRODUCERS + CONSUMERS);
+        try {
+            List<Future<?>> producers = new ArrayList<>();
+            for (int p = 0; p < PRODUCERS; p++) {
+                int producer = p;
+                producers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < PER_PRODUCER; i++) {
+                        Integer element = producer * PER_PRODUCER + i;
+                        while (!buffer.offer(element)) {
+                            Thread.yield();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            List<Future<List<Integer>>> consumers = new ArrayList<>();
+            for (int c = 0; c < CONSUMERS; c++) {
+                consumers.add(executor.submit(() -> {
+                    start.await();
+                    List<Integer> taken = new ArrayList<>();
+                    while (consumed.get() < total) {
+                        Integer element = buffer.poll();
+                        if (element == null) {
+                            Thread.yield();
+                            continue;
+                        }
+                        taken.add(element);
+                        consumed.incrementAndGet();
+                    }
+                    return taken;
+                }));
+            }
+            start.countDown();
+            for (Future<?> producer : producers) {
+                producer.get(60, TimeUnit.SECONDS);
+            }
+
+            int[] seen = new int[total];
+            for (Future<List<Integer>> consumer : consumers) {
+                int[] lastPerProducer = new int[PRODUCERS];
+                Arrays.fill(lastPerProducer, -1);
+                for (int element : consumer.get(60, TimeUnit.SECONDS)) {
+                    seen[element]++;
+                    // FIFO: one consumer sees each producer's elements in the order offered
+                    int producer = element / PER_PRODUCER;
+                    assertThat(element).isGreaterThan(lastPerProducer[producer]);
+                    lastPerProducer[producer] = element;
+                }
+            }
+            for (int element = 0; element < total; element++) {
+                assertThat(seen[element]).as("times element %d was taken", element).isEqualTo(1);
+            }
+            assertThat(buffer.poll()).isNull();
+            assertThat(buffer.size()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.foodapp.outbox;
+
+import com.foodapp.entity.enums.OrderStatus;
+import com.foodapp.event.OrderOutboxEvent;
+import com.foodapp.event.OrderStatusChangedEvent;
+import com.foodapp.repository.OrderOutboxRepository;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the relay one pass at a time against the order_events table of the H2 perf schema,
+ * which supports FOR UPDATE SKIP LOCKED. A delivery only counts once the relay's transaction
+ * has committed, the same way listeners that write or push after commit see it.
+ */
+class OrderOutboxRelayTest {
+
+    private static final int BATCH_SIZE = 10;
+    private static final int MAX_ATTEMPTS = 3;
+
+    private static HikariDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+    private static TransactionTemplate transactionTemplate;
+
+    private final List<Long> delivered = new CopyOnWriteArrayList<>();
+    private final Set<Long> failing = ConcurrentHashMap.newKeySet();
+    private OrderOutboxRepository repository;
+    private OrderOutboxRelay relay;
+
+    @BeforeAll
+    static void connect() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:outbox;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setMaximumPoolSize(4);
+        dataSource = new HikariDataSource(config);
+        new ResourceDatabasePopulator(new ClassPathResource("perf/schema-h2.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @AfterAll
+    static void close() {
+        dataSource.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM order_events");
+        repository = new OrderOutboxRepository(jdbcTemplate, new NamedParameterJdbcTemplate(jdbcTemplate));
+        ApplicationEventPublisher listener = event -> {
+            OrderOutboxEvent outboxEvent = (OrderOutboxEvent) event;
+            if (failing.contains(outboxEvent.getEventId())) {
+                throw new IllegalStateException("Listener failed on event " + outboxEvent.getEventId());
+            }
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    delivered.add(outboxEvent.getEventId());
+                }
+            });
+        };
+        relay = new OrderOutboxRelay(repository, listener, transactionTemplate, new SimpleMeterRegistry(),
+                BATCH_SIZE, MAX_ATTEMPTS, 1000, 72);
+    }
+
+    @Test
+    void deliversEachOrdersEventsInSequence() {
+        long placedA = append(1L, null, OrderStatus.pending);
+        long confirmedA = append(1L, OrderStatus.pending, OrderStatus.confirmed);
+        long placedB = append(2L, null, OrderStatus.pending);
+
+        // The second event of order 1 waits until the first is published
+        assertThat(relay.relayBatch()).isEqualTo(2);
+        assertThat(relay.relayBatch()).isEqualTo(1);
+        assertThat(relay.relayBatch()).isZero();
+
+        assertThat(delivered).containsExactly(placedA, placedB, confirmedA);
+        assertThat(unpublished()).isZero();
+    }
+
+    @Test
+    void skipsEventsLockedByAnotherRelay() throws Exception {
+        long placedA = append(1L, null, OrderStatus.pending);
+        long confirmedA = append(1L, OrderStatus.pending, OrderStatus.confirmed);
+        long placedB = append(2L, null, OrderStatus.pending);
+
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<List<OrderOutboxEvent>> otherRelay = CompletableFuture.supplyAsync(() ->
+                transactionTemplate.execute(status -> {
+                    List<OrderOutboxEvent> claimed = repository.lockNextBatch(1);
+                    locked.countDown();
+                    awaitQuietly(release);
+                    // Crashes before publishing: the claim is released on rollback
+                    status.setRollbackOnly();
+                    return claimed;
+                }));
+        try {
+            assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+            // Order 1 is held by the other relay, including its later event
+            assertThat(relay.relayBatch()).isEqualTo(1);
+            assertThat(delivered).containsExactly(placedB);
+        } finally {
+            release.countDown();
+        }
+        assertThat(otherRelay.get(10, TimeUnit.SECONDS)).extracting(OrderOutboxEvent::getEventId).containsExactly(placedA);
+
+        relay.relayBatch();
+        relay.relayBatch();
+        assertThat(delivered).containsExactly(placedB, placedA, confirmedA);
+    }
+
+    @Test
+    void givesUpOnAnEventAfterMaxAttempts() {
+        long placedA = append(1L, null, OrderStatus.pending);
+        long confirmedA = append(1L, OrderStatus.pending, OrderStatus.confirmed);
+        long placedB = append(2L, null, OrderStatus.pending);
+        failing.add(placedA);
+
+        // The failed batch is retried one event at a time, so order 2 is not held up
+        relay.relayBatch();
+        assertThat(delivered).containsExactly(placedB);
+        assertThat(attempts(placedA)).isEqualTo(1);
+
+        for (int attempt = 2; attempt <= MAX_ATTEMPTS; attempt++) {
+            relay.relayBatch();
+            assertThat(attempts(placedA)).isEqualTo(attempt);
+        }
+        // Given up on: published without a delivery, which lets the rest of order 1 through
+        assertThat(delivered).containsExactly(placedB);
+
+        relay.relayBatch();
+        assertThat(delivered).containsExactly(placedB, confirmedA);
+        assertThat(attempts(placedA)).isEqualTo(MAX_ATTEMPTS);
+        assertThat(unpublished()).isZero();
+    }
+
+    private long append(Long orderId, OrderStatus previous, OrderStatus status) {
+        repository.append(new OrderStatusChangedEvent(orderId, "ORD-" + orderId, 10L, 20L, 30L,
+                previous, status, OffsetDateTime.now(), 0L));
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM order_events", Long.class);
+    }
+
+    private int attempts(long eventId) {
+        return jdbcTemplate.queryForObject("SELECT attempts FROM order_events WHERE id = ?", Integer.class, eventId);
+    }
+
+    private int unpublished() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_events WHERE published_at IS NULL", Integer.class);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
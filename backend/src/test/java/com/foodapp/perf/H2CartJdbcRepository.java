@@ -0,0 +1,42 @@
+package com.foodapp.perf;
+
+import com.foodapp.repository.CartJdbcRepository;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+
+/**
+ * H2 has no {@code INSERT ... ON CONFLICT DO UPDATE ... RETURNING}; the add-to-cart upsert is the
+ * same single statement written as a MERGE read back through FINAL TABLE. The remaining
+ * PostgreSQL-only statements (write-behind ids, batch upserts) are not on the load-test journeys.
+ */
+@Repository
+@Primary
+@Profile("perf")
+public class H2CartJdbcRepository extends CartJdbcRepository {
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    public H2CartJdbcRepository(JdbcTemplate jdbcTemplate) {
+        super(jdbcTemplate);
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    @Override
+    public Row increment(Long userId, Long shopId, Long foodItemId, int quantity) {
+        return jdbcTemplate.queryForObject(
+                "SELECT id, quantity, created_at FROM FINAL TABLE (" +
+                "MERGE INTO cart c USING (VALUES (CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS INT))) " +
+                "v (user_id, shop_id, food_item_id, quantity) " +
+                "ON c.user_id = v.user_id AND c.shop_id = v.shop_id AND c.food_item_id = v.food_item_id " +
+                "WHEN MATCHED THEN UPDATE SET quantity = c.quantity + v.quantity " +
+                "WHEN NOT MATCHED THEN INSERT (user_id, shop_id, food_item_id, quantity) " +
+                "VALUES (v.user_id, v.shop_id, v.food_item_id, v.quantity))",
+                (rs, rowNum) -> new Row(rs.getLong("id"), userId, shopId, foodItemId,
+                        rs.getInt("quantity"), rs.getObject("created_at", OffsetDateTime.class)),
+                userId, shopId, foodItemId, quantity);
+    }
+}
@@ -0,0 +1,27 @@
+package com.foodapp.perf;
+
+import org.hibernate.boot.model.TypeContributions;
+import org.hibernate.boot.model.TypeContributor;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.jdbc.spi.JdbcServices;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.SqlTypes;
+import org.hibernate.type.descriptor.jdbc.VarcharJdbcType;
+
+/**
+ * H2 has no binding for {@code @JdbcTypeCode(SqlTypes.NAMED_ENUM)} (PostgreSQL named enums, see User)
+ * and would read those columns as bytes. The enum domains in schema-h2.sql convert to and from
+ * strings, so bind them as varchar. Registered through META-INF/services, test classpath only.
+ */
+public class H2NamedEnumTypeContributor implements TypeContributor {
+    
+    @Override
+    public void contribute(TypeContributions typeContributions, ServiceRegistry serviceRegistry) {
+        // Tests against a real PostgreSQL keep the native enum binding
+        if (!(serviceRegistry.requireService(JdbcServices.class).getDialect() instanceof H2Dialect)) {
+            return;
+        }
+        typeContributions.getTypeConfiguration().getJdbcTypeRegistry()
+                .addDescriptor(SqlTypes.NAMED_ENUM, VarcharJdbcType.INSTANCE);
+    }
+}
@@ -0,0 +1,24 @@
+package com.foodapp.perf;
+
+import org.springframework.boot.autoconfigure.sql.init.SqlInitializationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.sql.DataSource;
+
+/**
+ * Replaces Boot's script initializer in the "perf" profile so the Supabase sample data loads on H2.
+ * Boot's SqlInitializationAutoConfiguration backs off entirely then, properties included.
+ */
+@Configuration
+@Profile("perf")
+@EnableConfigurationProperties(SqlInitializationProperties.class)
+public class PerfDataSourceConfig {
+    
+    @Bean
+    SampleDataInitializer sampleDataInitializer(DataSource dataSource, SqlInitializationProperties properties) {
+        return new SampleDataInitializer(dataSource, properties);
+    }
+}
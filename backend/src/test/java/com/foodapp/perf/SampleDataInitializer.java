@@ -0,0 +1,53 @@
+package com.foodapp.perf;
+
+import org.springframework.boot.autoconfigure.sql.init.SqlDataSourceScriptDatabaseInitializer;
+import org.springframework.boot.autoconfigure.sql.init.SqlInitializationProperties;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Runs spring.sql.init scripts on H2, rewriting the PostgreSQL interval literals used by
+ * supabase/02_sample_data.sql ({@code INTERVAL '2 days'}) into the SQL standard form H2 parses
+ * ({@code INTERVAL '2' DAY}). Everything else in the sample data runs unchanged in PostgreSQL mode.
+ */
+class SampleDataInitializer extends SqlDataSourceScriptDatabaseInitializer {
+    
+    private static final Pattern PG_INTERVAL = Pattern.compile(
+            "INTERVAL '(\\d+) (day|hour|minute|second)s?'", Pattern.CASE_INSENSITIVE);
+    
+    SampleDataInitializer(DataSource dataSource, SqlInitializationProperties properties) {
+        super(dataSource, properties);
+    }
+    
+    @Override
+    protected void runScripts(Scripts scripts) {
+        Charset encoding = scripts.getEncoding() != null ? scripts.getEncoding() : StandardCharsets.UTF_8;
+        List<Resource> rewritten = new ArrayList<>();
+        for (Resource script : scripts) {
+            rewritten.add(rewrite(script, encoding));
+        }
+        super.runScripts(new Scripts(rewritten)
+                .continueOnError(scripts.isContinueOnError())
+                .separator(scripts.getSeparator())
+                .encoding(encoding));
+    }
+    
+    private static Resource rewrite(Resource script, Charset encoding) {
+        try {
+            String sql = script.getContentAsString(encoding);
+            String h2Sql = PG_INTERVAL.matcher(sql).replaceAll("INTERVAL '$1' $2");
+            return new ByteArrayResource(h2Sql.getBytes(encoding), script.getDescription());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + script.getDescription(), e);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.foodapp.security;
+
+import com.foodapp.entity.User;
+import com.foodapp.entity.enums.UserRole;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtServiceTest {
+
+    private static final long EXPIRATION_MS = 60_000;
+
+    @Test
+    void rs256WithoutKeysFailsAtStartup() {
+        assertThatThrownBy(() -> new JwtService("RS256", "", "", "", EXPIRATION_MS))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("app.jwt.rsa");
+    }
+
+    @Test
+    void hs256WithoutSecretFailsAtStartup() {
+        assertThatThrownBy(() -> new JwtService("HS256", "", "", "", EXPIRATION_MS))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void rs256TokenVerifiesWithTheConfiguredPublicKey() {
+        KeyPair keyPair = Jwts.SIG.RS256.keyPair().build();
+        String privateKey = Encoders.BASE64.encode(keyPair.getPrivate().getEncoded());
+        String publicKey = Encoders.BASE64.encode(keyPair.getPublic().getEncoded());
+        JwtService issuer = new JwtService("RS256", "", privateKey, publicKey, EXPIRATION_MS);
+        // Another node with the same keys accepts the token
+        JwtService verifier = new JwtService("RS256", "", privateKey, publicKey, EXPIRATION_MS);
+
+        AuthenticatedUser authenticated = verifier.verify(issuer.issueToken(user()));
+
+        assertThat(authenticated.userId()).isEqualTo(7L);
+        assertThat(authenticated.role()).isEqualTo("shop_owner");
+    }
+
+    @Test
+    void hs256TokenRoundTrips() {
+        String secret = Encoders.BASE64.encode(Keys.hmacShaKeyFor(new byte[32]).getEncoded());
+        JwtService jwtService = new JwtService("HS256", secret, "", "", EXPIRATION_MS);
+
+        AuthenticatedUser authenticated = jwtService.verify(jwtService.issueToken(user()));
+
+        assertThat(authenticated.email()).isEqualTo("owner@example.com");
+    }
+
+    private static User user() {
+        User user = new User();
+        user.setId(7L);
+        user.setEmail("owner@example.com");
+        user.setUserRole(UserRole.shop_owner);
+        return user;
+    }
+}
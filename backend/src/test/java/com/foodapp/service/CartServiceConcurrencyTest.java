@@ -0,0 +1,154 @@
+package com.foodapp.service;
+
+import com.foodapp.dto.response.FoodItemResponse;
+import com.foodapp.repository.CartJdbcRepository;
+import com.foodapp.repository.CartRepository;
+import com.foodapp.repository.UserRepository;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.MountableFile;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Add-to-cart is a single native upsert, so concurrent adds of the same item must neither lose an
+ * increment nor fail on the (user_id, shop_id, food_item_id) unique key. Needs the real
+ * PostgreSQL ON CONFLICT behaviour, hence a container with supabase/01_schema.sql and the sample data.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class CartServiceConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int ADDS_PER_THREAD = 25;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withCopyFileToContainer(MountableFile.forHostPath(sampleData().resolveSibling("01_schema.sql")),
+                    "/docker-entrypoint-initdb.d/01_schema.sql")
+            .withCopyFileToContainer(MountableFile.forHostPath(sampleData()),
+                    "/docker-entrypoint-initdb.d/02_sample_data.sql");
+
+    private static HikariDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+
+    private final FoodItemService foodItemService = mock(FoodItemService.class);
+    private CartService cartService;
+    private long userId;
+    private long shopId;
+    private long foodItemId;
+
+    @BeforeAll
+    static void connect() {
+        HikariConfig config = new HikariConfig();
+        // Same driver settings as application.properties
+        config.setJdbcUrl(POSTGRES.getJdbcUrl() + "&reWriteBatchedInserts=true");
+        config.setUsername(POSTGRES.getUsername());
+        config.setPassword(POSTGRES.getPassword());
+        config.setMaximumPoolSize(THREADS);
+        dataSource = new HikariDataSource(config);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @AfterAll
+    static void close() {
+        dataSource.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM cart");
+        userId = jdbcTemplate.queryForObject(
+                "SELECT id FROM users WHERE user_role = 'customer' ORDER BY id LIMIT 1", Long.class);
+        foodItemId = jdbcTemplate.queryForObject("SELECT id FROM food_items ORDER BY id LIMIT 1", Long.class);
+        shopId = jdbcTemplate.queryForObject("SELECT shop_id FROM food_items WHERE id = ?", Long.class, foodItemId);
+        cartService = new CartService(mock(CartRepository.class), mock(UserRepository.class),
+                new CartJdbcRepository(jdbcTemplate), foodItemService, Optional.empty());
+    }
+
+    @Test
+    void concurrentAddsOfTheSameItemAreAllCounted() throws Exception {
+        stubMenu(foodItemId);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            tasks.add(() -> {
+                start.await();
+                for (int j = 0; j < ADDS_PER_THREAD; j++) {
+                    cartService.addToCart(userId, shopId, foodItemId, 1);
+                }
+                return null;
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Void>> results = new ArrayList<>();
+            for (Callable<Void> task : tasks) {
+                results.add(executor.submit(task));
+            }
+            start.countDown();
+            for (Future<Void> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT quantity FROM cart WHERE user_id = ? AND shop_id = ? AND food_item_id = ?",
+                Integer.class, userId, shopId, foodItemId))
+                .containsExactly(THREADS * ADDS_PER_THREAD);
+    }
+
+    @Test
+    void unknownUserIsReportedAsUserNotFound() {
+        stubMenu(foodItemId);
+
+        assertThatThrownBy(() -> cartService.addToCart(-1L, shopId, foodItemId, 1))
+                .hasMessage("User not found");
+    }
+
+    @Test
+    void otherForeignKeyViolationsAreNotReportedAsUserNotFound() {
+        // A food item still in the cached menu but already deleted from the database
+        stubMenu(-1L);
+
+        assertThatThrownBy(() -> cartService.addToCart(userId, shopId, -1L, 1))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    private void stubMenu(long menuFoodItemId) {
+        when(foodItemService.getFoodItemsByShop(shopId)).thenReturn(List.of(FoodItemResponse.builder()
+                .id(menuFoodItemId)
+                .shopId(shopId)
+                .price(BigDecimal.TEN)
+                .build()));
+    }
+
+    private static Path sampleData() {
+        return Path.of(System.getProperty("foodapp.sample-data"));
+    }
+}
@@ -0,0 +1,89 @@
+package com.foodapp.service;
+
+import com.foodapp.dto.response.CursorPage;
+import com.foodapp.dto.response.OrderResponse;
+import com.foodapp.observability.StatementCapture;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Order history pages load the orders with their parties in one query and all their items in
+ * one more, so the statement count must not grow with the number of orders on the page.
+ * Runs on the H2 sample data of the "perf" profile; the seeded orders roll back after each test.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("perf")
+@Transactional
+class OrderServiceQueryCountTest {
+
+    // khach5@gmail.com has no orders in the sample data
+    private static final long CUSTOMER_ID = 12L;
+    private static final long SHOP_ID = 3L;
+    private static final int ORDERS = 10;
+    private static final int ITEMS_PER_ORDER = 2;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void seedOrders() {
+        List<Long> foodItemIds = jdbcTemplate.queryForList(
+                "SELECT id FROM food_items WHERE shop_id = ? ORDER BY id LIMIT " + ITEMS_PER_ORDER, Long.class, SHOP_ID);
+        for (int i = 0; i < ORDERS; i++) {
+            jdbcTemplate.update("INSERT INTO orders (order_code, customer_id, shop_id, delivery_address, delivery_phone, " +
+                    "subtotal, total_amount, created_at) VALUES (?, ?, ?, 'Test address', '0900000000', 100000, 115000, " +
+                    "NOW() - CAST(? AS INT) * INTERVAL '1' MINUTE)", "TEST-" + i, CUSTOMER_ID, SHOP_ID, i);
+            Long orderId = jdbcTemplate.queryForObject("SELECT id FROM orders WHERE order_code = ?", Long.class, "TEST-" + i);
+            for (Long foodItemId : foodItemIds) {
+                jdbcTemplate.update("INSERT INTO order_items (order_id, food_item_id, food_name, food_price, quantity, subtotal) " +
+                        "VALUES (?, ?, 'Test item', 50000, 1, 50000)", orderId, foodItemId);
+            }
+        }
+    }
+
+    @Test
+    void customerHistoryStatementCountDoesNotGrowWithOrders() {
+        int single = countStatements(() -> orderService.getOrdersByCustomer(CUSTOMER_ID, null, 1), 1);
+        int full = countStatements(() -> orderService.getOrdersByCustomer(CUSTOMER_ID, null, ORDERS), ORDERS);
+
+        assertThat(full).isEqualTo(single).isEqualTo(2);
+    }
+
+    @Test
+    void shopHistoryStatementCountDoesNotGrowWithOrders() {
+        int single = countStatements(() -> orderService.getOrdersByShop(SHOP_ID, null, 1), 1);
+        int full = countStatements(() -> orderService.getOrdersByShop(SHOP_ID, null, ORDERS), ORDERS);
+
+        assertThat(full).isEqualTo(single).isEqualTo(2);
+    }
+
+    private int countStatements(Supplier<CursorPage<OrderResponse>> call, int expectedOrders) {
+        // Nothing may come from the persistence context of the seeding or an earlier call
+        entityManager.flush();
+        entityManager.clear();
+        try (StatementCapture capture = StatementCapture.start()) {
+            CursorPage<OrderResponse> page = call.get();
+
+            assertThat(page.getItems()).hasSize(expectedOrders);
+            assertThat(page.getItems()).allSatisfy(order -> assertThat(order.getOrderItems()).hasSize(ITEMS_PER_ORDER));
+            return capture.count();
+        }
+    }
+}
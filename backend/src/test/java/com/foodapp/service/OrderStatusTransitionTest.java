@@ -0,0 +1,154 @@
+package com.foodapp.service;
+
+import com.foodapp.config.GlobalExceptionHandler;
+import com.foodapp.dto.response.OrderResponse;
+import com.foodapp.entity.Order;
+import com.foodapp.entity.enums.OrderStatus;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Status changes go through the OrderStatus transition table and the order version. Runs on the
+ * H2 sample data of the "perf" profile, where ORD006 is pending, ORD004 delivering, ORD001
+ * completed and ORD007 cancelled; every change rolls back after each test.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("perf")
+@Transactional
+class OrderStatusTransitionTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private long pendingOrderId;
+    private long customerId;
+
+    @BeforeEach
+    void findPendingOrder() {
+        pendingOrderId = orderId("ORD006");
+        customerId = jdbcTemplate.queryForObject("SELECT customer_id FROM orders WHERE id = ?", Long.class, pendingOrderId);
+    }
+
+    @Test
+    void transitionTableMovesForwardOneStepAndCancelsUntilDelivery() {
+        assertThat(OrderStatus.pending.nextStatuses()).containsExactlyInAnyOrder(OrderStatus.confirmed, OrderStatus.cancelled);
+        assertThat(OrderStatus.confirmed.nextStatuses()).containsExactlyInAnyOrder(OrderStatus.preparing, OrderStatus.cancelled);
+        assertThat(OrderStatus.preparing.nextStatuses()).containsExactlyInAnyOrder(OrderStatus.ready, OrderStatus.cancelled);
+        assertThat(OrderStatus.ready.nextStatuses()).containsExactlyInAnyOrder(OrderStatus.delivering, OrderStatus.cancelled);
+        assertThat(OrderStatus.delivering.nextStatuses()).containsExactly(OrderStatus.completed);
+        assertThat(OrderStatus.completed.nextStatuses()).isEmpty();
+        assertThat(OrderStatus.cancelled.nextStatuses()).isEmpty();
+        for (OrderStatus status : OrderStatus.values()) {
+            assertThat(status.canTransitionTo(status)).as("%s to itself", status).isFalse();
+            assertThat(status.canTransitionTo(OrderStatus.pending)).as("%s back to pending", status).isFalse();
+        }
+    }
+
+    @Test
+    void appliesAnAllowedTransitionAndRecordsIt() {
+        OrderResponse confirmed = orderService.updateOrderStatus(pendingOrderId, OrderStatus.confirmed, null, 0L);
+
+        assertThat(confirmed.getOrderStatus()).isEqualTo(OrderStatus.confirmed);
+        assertThat(confirmed.getConfirmedAt()).isNotNull();
+        assertThat(confirmed.getVersion()).isEqualTo(1L);
+        assertThat(orderService.getOrderHistory(pendingOrderId))
+                .anySatisfy(entry -> assertThat(entry.getOrderStatus()).isEqualTo(OrderStatus.confirmed));
+    }
+
+    @Test
+    void rejectsSkippingAStep() {
+        assertThatThrownBy(() -> orderService.updateOrderStatus(pendingOrderId, OrderStatus.preparing, null, null))
+                .hasMessageContaining("Cannot change order status from pending to preparing");
+
+        assertThat(status(pendingOrderId)).isEqualTo("pending");
+    }
+
+    @Test
+    void rejectsEveryChangeOfAFinalOrder() {
+        for (String orderCode : new String[]{"ORD001", "ORD007"}) {
+            long orderId = orderId(orderCode);
+            for (OrderStatus next : EnumSet.complementOf(EnumSet.of(OrderStatus.cancelled))) {
+                assertThatThrownBy(() -> orderService.updateOrderStatus(orderId, next, null, null))
+                        .hasMessageContaining("Cannot change order status");
+            }
+            assertThatThrownBy(() -> orderService.cancelOrder(orderId, customerId, null, null))
+                    .hasMessageContaining("Cannot change order status");
+        }
+    }
+
+    @Test
+    void rejectsCancellingADeliveringOrder() {
+        long delivering = orderId("ORD004");
+
+        assertThatThrownBy(() -> orderService.cancelOrder(delivering, customerId, "Too late", null))
+                .hasMessageContaining("Cannot change order status from delivering to cancelled");
+    }
+
+    @Test
+    void cancelsOnlyThroughCancelOrder() {
+        assertThatThrownBy(() -> orderService.updateOrderStatus(pendingOrderId, OrderStatus.cancelled, customerId, null))
+                .hasMessageContaining("cancel endpoint");
+        assertThat(status(pendingOrderId)).isEqualTo("pending");
+
+        OrderResponse cancelled = orderService.cancelOrder(pendingOrderId, customerId, "Ordered by mistake", null);
+
+        assertThat(cancelled.getOrderStatus()).isEqualTo(OrderStatus.cancelled);
+        assertThat(cancelled.getCancelReason()).isEqualTo("Ordered by mistake");
+        entityManager.flush();
+        assertThat(jdbcTemplate.queryForObject("SELECT cancelled_by FROM orders WHERE id = ?", Long.class, pendingOrderId))
+                .isEqualTo(customerId);
+    }
+
+    @Test
+    void rejectsAChangeMadeOnAStaleVersionWithConflict() {
+        // The shop confirms first; the customer's cancel still carries the version it read before
+        orderService.updateOrderStatus(pendingOrderId, OrderStatus.confirmed, null, 0L);
+
+        assertThatThrownBy(() -> orderService.cancelOrder(pendingOrderId, customerId, "Changed my mind", 0L))
+                .isInstanceOfSatisfying(ObjectOptimisticLockingFailureException.class, e ->
+                        assertThat(new GlobalExceptionHandler().handleOptimisticLockingFailure(e).getStatusCode())
+                                .isEqualTo(HttpStatus.CONFLICT));
+        assertThatThrownBy(() -> orderService.updateOrderStatus(pendingOrderId, OrderStatus.preparing, null, 0L))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+
+        assertThat(status(pendingOrderId)).isEqualTo("confirmed");
+    }
+
+    @Test
+    void rejectsAChangeWhenTheOrderChangedAfterItWasRead() {
+        // Read into the persistence context, then changed by another writer before the flush
+        entityManager.find(Order.class, pendingOrderId);
+        jdbcTemplate.update("UPDATE orders SET version = version + 1 WHERE id = ?", pendingOrderId);
+
+        assertThatThrownBy(() -> orderService.updateOrderStatus(pendingOrderId, OrderStatus.confirmed, null, null))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+    }
+
+    private long orderId(String orderCode) {
+        return jdbcTemplate.queryForObject("SELECT id FROM orders WHERE order_code = ?", Long.class, orderCode);
+    }
+
+    private String status(long orderId) {
+        entityManager.flush();
+        return jdbcTemplate.queryForObject("SELECT order_status FROM orders WHERE id = ?", String.class, orderId);
+    }
+}
@@ -0,0 +1,243 @@
+-- =====================================================
+-- H2 (PostgreSQL mode) mirror of supabase/01_schema.sql for the perf suite
+-- ENUM types become domains, activity_logs is not partitioned.
+-- Keep in sync with 01_schema.sql and the numbered migrations.
+-- =====================================================
+
+CREATE DOMAIN user_role_enum AS ENUM ('customer', 'shop_owner', 'admin');
+CREATE DOMAIN user_status_enum AS ENUM ('inactive', 'active', 'suspended', 'banned');
+CREATE DOMAIN shop_status_enum AS ENUM ('pending', 'approved', 'active', 'suspended', 'closed');
+CREATE DOMAIN payment_method_enum AS ENUM ('COD', 'Momo', 'Banking');
+CREATE DOMAIN payment_status_enum AS ENUM ('unpaid', 'paid');
+CREATE DOMAIN order_status_enum AS ENUM ('pending', 'confirmed', 'preparing', 'ready', 'delivering', 'completed', 'cancelled');
+
+CREATE TABLE users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    supabase_uid VARCHAR(255) UNIQUE,
+    email VARCHAR(255) UNIQUE NOT NULL,
+    user_password VARCHAR(255) NOT NULL,
+    full_name VARCHAR(255) NOT NULL,
+    phone VARCHAR(20) UNIQUE NOT NULL,
+    avatar VARCHAR(500),
+    user_role user_role_enum DEFAULT 'customer',
+    user_status user_status_enum DEFAULT 'inactive',
+    is_verified BOOLEAN DEFAULT FALSE,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT NOW()
+);
+
+CREATE INDEX idx_users_role ON users(user_role);
+
+CREATE TABLE user_addresses (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    label VARCHAR(50),
+    address VARCHAR NOT NULL,
+    is_default BOOLEAN DEFAULT FALSE,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT NOW(),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE TABLE categories (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    category_name VARCHAR(100) NOT NULL,
+    category_description VARCHAR,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT NOW()
+);
+
+CREATE TABLE shops (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    shop_name VARCHAR(255) NOT NULL,
+    shop_description VARCHAR,
+    cover_image VARCHAR(500),
+    address VARCHAR NOT NULL,
+    opening_time TIME,
+    closing_time TIME,
+    status shop_status_enum DEFAULT 'pending',
+    rating_average DECIMAL(2, 1) DEFAULT 0,
+    total_reviews INT DEFAULT 0,
+    rating_sum BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT NOW(),
+    approved_at TIMESTAMP WITH TIME ZONE NULL,
+    approved_by BIGINT,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    FOREIGN KEY (approved_by) REFERENCES users(id) ON DELETE SET NULL
+);
+
+CREATE INDEX idx_shops_status ON shops(status);
+
+CREATE TABLE shop_categories (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    shop_id BIGINT NOT NULL,
+    category_id BIGINT NOT NULL,
+    FOREIGN KEY (shop_id) REFERENCES shops(id) ON DELETE CASCADE,
+    FOREIGN KEY (category_id) REFERENCES categories(id) ON DELETE CASCADE,
+    UNIQUE (shop_id, category_id)
+);
+
+CREATE TABLE food_items (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    shop_id BIGINT NOT NULL,
+    category_id BIGINT NOT NULL,
+    food_name VARCHAR(255) NOT NULL,
+    food_description VARCHAR,
+    price DECIMAL(10, 2) NOT NULL,
+    discount_price DECIMAL(10, 2),
+    image VARCHAR(500),
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT NOW(),
+    FOREIGN KEY (shop_id) REFERENCES shops(id) ON DELETE CASCADE,
+    FOREIGN KEY (category_id) REFERENCES categories(id) ON DELETE CASCADE
+);
+
+CREATE TABLE orders (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    order_code VARCHAR(50) UNIQUE NOT NULL,
+    customer_id BIGINT NOT NULL,
+    shop_id BIGINT NOT NULL,
+    delivery_address VARCHAR NOT NULL,
+    delivery_phone VARCHAR(20) NOT NULL,
+    delivery_note VARCHAR,
+    subtotal DECIMAL(10, 2) NOT NULL,
+    delivery_fee DECIMAL(10, 2) DEFAULT 0,
+    discount_amount DECIMAL(10, 2) DEFAULT 0,
+    total_amount DECIMAL(10, 2) NOT NULL,
+    payment_method payment_method_enum DEFAULT 'COD',
+    payment_status payment_status_enum DEFAULT 'unpaid',
+    order_status order_status_enum DEFAULT 'pending',
+    cancelled_by BIGINT,
+    cancel_reason VARCHAR,
+    estimated_delivery_time TIMESTAMP WITH TIME ZONE,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT NOW(),
+    confirmed_at TIMESTAMP WITH TIME ZONE NULL,
+    completed_at TIMESTAMP WITH TIME ZONE NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    FOREIGN KEY (customer_id) REFERENCES users(id) ON DELETE CASCADE,
+    FOREIGN KEY (shop_id) REFERENCES shops(id) ON DELETE CASCADE,
+    FOREIGN KEY (cancelled_by) REFERENCES users(id) ON DELETE SET NULL
+);
+
+CREATE INDEX idx_orders_customer_created_id ON orders(customer_id, created_at DESC, id DESC);
+CREATE INDEX idx_orders_shop_created_id ON orders(shop_id, created_at DESC, id DESC);
+
+CREATE TABLE order_status_history (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    previous_status order_status_enum,
+    order_status order_status_enum NOT NULL,
+    changed_by BIGINT,
+    note VARCHAR,
+    changed_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    FOREIGN KEY (order_id) REFERENCES orders(id) ON DELETE CASCADE,
+    FOREIGN KEY (changed_by) REFERENCES users(id) ON DELETE SET NULL
+);
+
+CREATE INDEX idx_order_status_history_order_id ON order_status_history(order_id, id);
+
+-- No partial indexes in H2
+CREATE TABLE order_events (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    order_code VARCHAR(50) NOT NULL,
+    customer_id BIGINT NOT NULL,
+    shop_id BIGINT NOT NULL,
+    shop_owner_id BIGINT,
+    previous_status VARCHAR(20),
+    order_status VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    attempts INT NOT NULL DEFAULT 0,
+    published_at TIMESTAMP WITH TIME ZONE
+);
+
+CREATE INDEX idx_order_events_order_unpublished ON order_events(order_id, published_at, id);
+-- No idx_order_events_published_at (the purge index): when H2 plans the relay's
+-- FOR UPDATE SKIP LOCKED scan through it, one locked row hides every other row
+
+CREATE SEQUENCE order_items_id_seq INCREMENT BY 50;
+
+CREATE TABLE order_items (
+    id BIGINT DEFAULT NEXT VALUE FOR order_items_id_seq PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    food_item_id BIGINT NOT NULL,
+    food_name VARCHAR(255) NOT NULL,
+    food_price DECIMAL(10, 2) NOT NULL,
+    quantity INT NOT NULL,
+    note VARCHAR,
+    subtotal DECIMAL(10, 2) NOT NULL,
+    FOREIGN KEY (order_id) REFERENCES orders(id) ON DELETE CASCADE,
+    FOREIGN KEY (food_item_id) REFERENCES food_items(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_order_items_order_id ON order_items(order_id);
+
+CREATE SEQUENCE cart_id_seq;
+
+CREATE TABLE cart (
+    id BIGINT DEFAULT NEXT VALUE FOR cart_id_seq PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    shop_id BIGINT NOT NULL,
+    food_item_id BIGINT NOT NULL,
+    quantity INT DEFAULT 1,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT NOW(),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    FOREIGN KEY (shop_id) REFERENCES shops(id) ON DELETE CASCADE,
+    FOREIGN KEY (food_item_id) REFERENCES food_items(id) ON DELETE CASCADE,
+    UNIQUE (user_id, shop_id, food_item_id)
+);
+
+CREATE INDEX idx_cart_user_id ON cart(user_id);
+
+CREATE TABLE reviews (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    customer_id BIGINT NOT NULL,
+    shop_id BIGINT NOT NULL,
+    rating INT NOT NULL CHECK (rating BETWEEN 1 AND 5),
+    comment VARCHAR,
+    images VARCHAR,
+    shop_reply VARCHAR,
+    replied_at TIMESTAMP WITH TIME ZONE NULL,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT NOW(),
+    FOREIGN KEY (order_id) REFERENCES orders(id) ON DELETE CASCADE,
+    FOREIGN KEY (customer_id) REFERENCES users(id) ON DELETE CASCADE,
+    FOREIGN KEY (shop_id) REFERENCES shops(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_reviews_shop_created_id ON reviews(shop_id, created_at DESC, id DESC);
+
+CREATE TABLE shop_rating_counts (
+    shop_id BIGINT PRIMARY KEY,
+    rating_1 INT NOT NULL DEFAULT 0,
+    rating_2 INT NOT NULL DEFAULT 0,
+    rating_3 INT NOT NULL DEFAULT 0,
+    rating_4 INT NOT NULL DEFAULT 0,
+    rating_5 INT NOT NULL DEFAULT 0,
+    FOREIGN KEY (shop_id) REFERENCES shops(id) ON DELETE CASCADE
+);
+
+CREATE TABLE notifications (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    notification_type VARCHAR(20) NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    message VARCHAR NOT NULL,
+    reference_id BIGINT,
+    is_read BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_notifications_user ON notifications(user_id, id);
+
+CREATE TABLE activity_logs (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    user_id BIGINT,
+    action VARCHAR(100) NOT NULL,
+    description VARCHAR,
+    ip_address VARCHAR(45),
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (id, created_at),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE SET NULL
+);
+
+CREATE INDEX idx_activity_logs_user_created_id ON activity_logs(user_id, created_at DESC, id DESC);
+CREATE INDEX idx_activity_logs_action_created ON activity_logs(action, created_at DESC);
@@ -82,6 +82,7 @@ CREATE TABLE shops (
     status shop_status_enum DEFAULT 'pending',
     rating_average DECIMAL(2, 1) DEFAULT 0,
     total_reviews INT DEFAULT 0,
+    rating_sum BIGINT NOT NULL DEFAULT 0,
     created_at TIMESTAMPTZ DEFAULT NOW(),
     approved_at TIMESTAMPTZ NULL,
     approved_by BIGINT,
@@ -153,6 +154,7 @@ CREATE TABLE orders (
     created_at TIMESTAMPTZ DEFAULT NOW(),
     confirmed_at TIMESTAMPTZ NULL,
     completed_at TIMESTAMPTZ NULL,
+    version BIGINT NOT NULL DEFAULT 0,
     FOREIGN KEY (customer_id) REFERENCES users(id) ON DELETE CASCADE,
     FOREIGN KEY (shop_id) REFERENCES shops(id) ON DELETE CASCADE,
     FOREIGN KEY (cancelled_by) REFERENCES users(id) ON DELETE SET NULL
@@ -163,6 +165,46 @@ CREATE INDEX idx_orders_customer_id ON orders(customer_id);
 CREATE INDEX idx_orders_shop_id ON orders(shop_id);
 CREATE INDEX idx_orders_status ON orders(order_status);
 CREATE INDEX idx_orders_created_at ON orders(created_at);
+CREATE INDEX idx_orders_customer_created_id ON orders(customer_id, created_at DESC, id DESC);
+CREATE INDEX idx_orders_shop_created_id ON orders(shop_id, created_at DESC, id DESC);
+
+-- =====================================================
+-- ORDER EVENTS TABLE (transactional outbox, drained by the backend's OrderOutboxRelay)
+-- =====================================================
+CREATE TABLE order_events (
+    id BIGSERIAL PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    order_code VARCHAR(50) NOT NULL,
+    customer_id BIGINT NOT NULL,
+    shop_id BIGINT NOT NULL,
+    shop_owner_id BIGINT,
+    previous_status VARCHAR(20),
+    order_status VARCHAR(20) NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    attempts INT NOT NULL DEFAULT 0,
+    published_at TIMESTAMPTZ
+);
+
+CREATE INDEX idx_order_events_unpublished ON order_events(id) WHERE published_at IS NULL;
+CREATE INDEX idx_order_events_order_unpublished ON order_events(order_id, id) WHERE published_at IS NULL;
+CREATE INDEX idx_order_events_published_at ON order_events(published_at) WHERE published_at IS NOT NULL;
+
+-- =====================================================
+-- ORDER STATUS HISTORY TABLE (append-only, one row per status change)
+-- =====================================================
+CREATE TABLE order_status_history (
+    id BIGSERIAL PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    previous_status order_status_enum,
+    order_status order_status_enum NOT NULL,
+    changed_by BIGINT,
+    note TEXT,
+    changed_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    FOREIGN KEY (order_id) REFERENCES orders(id) ON DELETE CASCADE,
+    FOREIGN KEY (changed_by) REFERENCES users(id) ON DELETE SET NULL
+);
+
+CREATE INDEX idx_order_status_history_order_id ON order_status_history(order_id, id);
 
 -- =====================================================
 -- ORDER ITEMS TABLE (Chi tiết đơn hàng)
@@ -180,6 +222,9 @@ CREATE TABLE order_items (
     FOREIGN KEY (food_item_id) REFERENCES food_items(id) ON DELETE CASCADE
 );
 
+-- Pooled id allocation: must match allocationSize of OrderItem in the backend
+ALTER SEQUENCE order_items_id_seq INCREMENT BY 50;
+
 CREATE INDEX idx_order_items_order_id ON order_items(order_id);
 CREATE INDEX idx_order_items_food_item_id ON order_items(food_item_id);
 
@@ -225,52 +270,78 @@ CREATE INDEX idx_reviews_order_id ON reviews(order_id);
 CREATE INDEX idx_reviews_customer_id ON reviews(customer_id);
 CREATE INDEX idx_reviews_shop_id ON reviews(shop_id);
 CREATE INDEX idx_reviews_rating ON reviews(rating);
+CREATE INDEX idx_reviews_shop_created_id ON reviews(shop_id, created_at DESC, id DESC);
+
+-- =====================================================
+-- SHOP RATING COUNTS TABLE (star histogram per shop, maintained by the backend)
+-- =====================================================
+CREATE TABLE shop_rating_counts (
+    shop_id BIGINT PRIMARY KEY,
+    rating_1 INT NOT NULL DEFAULT 0,
+    rating_2 INT NOT NULL DEFAULT 0,
+    rating_3 INT NOT NULL DEFAULT 0,
+    rating_4 INT NOT NULL DEFAULT 0,
+    rating_5 INT NOT NULL DEFAULT 0,
+    FOREIGN KEY (shop_id) REFERENCES shops(id) ON DELETE CASCADE
+);
+
+-- =====================================================
+-- NOTIFICATIONS TABLE (newest per user; also pushed over STOMP)
+-- =====================================================
+CREATE TABLE notifications (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    notification_type VARCHAR(20) NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    message TEXT NOT NULL,
+    reference_id BIGINT,
+    is_read BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_notifications_user ON notifications(user_id, id DESC);
+CREATE INDEX idx_notifications_user_unread ON notifications(user_id) WHERE is_read = FALSE;
 
 -- =====================================================
 -- ACTIVITY LOGS TABLE
 -- =====================================================
 CREATE TABLE activity_logs (
-    id BIGSERIAL PRIMARY KEY,
+    id BIGSERIAL,
     user_id BIGINT,
     action VARCHAR(100) NOT NULL,
     description TEXT,
     ip_address VARCHAR(45),
-    created_at TIMESTAMPTZ DEFAULT NOW(),
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (id, created_at),
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE SET NULL
-);
+) PARTITION BY RANGE (created_at);
+
+-- Monthly partitions (UTC) named activity_logs_pYYYYMM; the backend keeps creating
+-- upcoming ones and drops expired ones (ActivityLogPartitionMaintainer)
+DO $$
+DECLARE
+    -- Month boundaries are computed as UTC wall-clock timestamps
+    month_start TIMESTAMP := date_trunc('month', NOW() AT TIME ZONE 'UTC');
+BEGIN
+    FOR i IN 0..3 LOOP
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS %I PARTITION OF activity_logs FOR VALUES FROM (%L) TO (%L)',
+            'activity_logs_p' || to_char(month_start, 'YYYYMM'),
+            month_start AT TIME ZONE 'UTC', (month_start + INTERVAL '1 month') AT TIME ZONE 'UTC');
+        month_start := month_start + INTERVAL '1 month';
+    END LOOP;
+END $$;
 
-CREATE INDEX idx_activity_logs_user_id ON activity_logs(user_id);
-CREATE INDEX idx_activity_logs_created_at ON activity_logs(created_at);
+CREATE INDEX idx_activity_logs_user_created_id ON activity_logs(user_id, created_at DESC, id DESC);
+CREATE INDEX idx_activity_logs_action_created ON activity_logs(action, created_at DESC);
 
 -- =====================================================
 -- FUNCTIONS & TRIGGERS
 -- =====================================================
 
--- Function to update shop rating average
-CREATE OR REPLACE FUNCTION update_shop_rating()
-RETURNS TRIGGER AS $$
-BEGIN
-    UPDATE shops
-    SET rating_average = (
-        SELECT ROUND(AVG(rating)::numeric, 1)
-        FROM reviews
-        WHERE shop_id = NEW.shop_id
-    ),
-    total_reviews = (
-        SELECT COUNT(*)
-        FROM reviews
-        WHERE shop_id = NEW.shop_id
-    )
-    WHERE id = NEW.shop_id;
-    RETURN NEW;
-END;
-$$ LANGUAGE plpgsql;
-
--- Trigger to update shop rating when review is added
-CREATE TRIGGER trigger_update_shop_rating
-AFTER INSERT ON reviews
-FOR EACH ROW
-EXECUTE FUNCTION update_shop_rating();
+-- Shop rating (rating_sum, total_reviews, rating_average and shop_rating_counts) is
+-- maintained by the backend with incremental deltas on review create/update/delete, see ReviewService.
 
 -- =====================================================
 -- COMMENTS
@@ -282,7 +353,11 @@ COMMENT ON TABLE shops IS 'Thông tin cửa hàng';
 COMMENT ON TABLE shop_categories IS 'Liên kết shop với nhiều danh mục';
 COMMENT ON TABLE food_items IS 'Món ăn của từng shop';
 COMMENT ON TABLE orders IS 'Đơn hàng';
+COMMENT ON TABLE order_status_history IS 'Lịch sử trạng thái đơn hàng, chỉ ghi thêm';
+COMMENT ON TABLE order_events IS 'Outbox sự kiện đơn hàng, ghi cùng transaction với thay đổi đơn';
 COMMENT ON TABLE order_items IS 'Chi tiết món ăn trong đơn hàng';
 COMMENT ON TABLE cart IS 'Giỏ hàng của người dùng';
 COMMENT ON TABLE reviews IS 'Đánh giá của khách hàng';
+COMMENT ON TABLE shop_rating_counts IS 'Số lượng đánh giá theo số sao của từng shop';
+COMMENT ON TABLE notifications IS 'Thông báo gần nhất của từng người dùng';
 COMMENT ON TABLE activity_logs IS 'Nhật ký hoạt động của người dùng';
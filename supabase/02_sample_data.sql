@@ -145,6 +145,12 @@ INSERT INTO orders (order_code, customer_id, shop_id, delivery_address, delivery
 -- Đơn đã hủy
 ('ORD007', 11, 3, '111 Điện Biên Phủ, Quận Bình Thạnh, TP.HCM', '0923456792', NULL, 98000, 18000, 0, 116000, 'COD', 'unpaid', 'cancelled', NULL, NOW() - INTERVAL '4 days', NULL, NULL);
 
+-- Trạng thái hiện tại của từng đơn mẫu làm dòng đầu tiên trong lịch sử
+INSERT INTO order_status_history (order_id, previous_status, order_status, changed_by, note, changed_at)
+SELECT id, NULL, order_status, cancelled_by, cancel_reason, COALESCE(completed_at, confirmed_at, created_at)
+FROM orders
+ORDER BY id;
+
 -- =====================================================
 -- 8. ORDER ITEMS (Chi tiết đơn hàng)
 -- =====================================================
@@ -224,6 +230,30 @@ INSERT INTO activity_logs (user_id, action, description, ip_address) VALUES
 (10, 'LOGIN', 'Khách hàng đăng nhập', '192.168.1.104'),
 (11, 'ORDER_CANCELLED', 'Hủy đơn hàng ORD007', '192.168.1.105');
 
+-- =====================================================
+-- SHOP RATINGS (maintained by the backend at runtime, backfilled here)
+-- =====================================================
+UPDATE shops s
+SET rating_sum = agg.rating_sum,
+    total_reviews = agg.review_count,
+    rating_average = ROUND(agg.rating_sum::numeric / agg.review_count, 1)
+FROM (
+    SELECT shop_id, SUM(rating) AS rating_sum, COUNT(*) AS review_count
+    FROM reviews
+    GROUP BY shop_id
+) agg
+WHERE s.id = agg.shop_id;
+
+INSERT INTO shop_rating_counts (shop_id, rating_1, rating_2, rating_3, rating_4, rating_5)
+SELECT shop_id,
+       COUNT(*) FILTER (WHERE rating = 1),
+       COUNT(*) FILTER (WHERE rating = 2),
+       COUNT(*) FILTER (WHERE rating = 3),
+       COUNT(*) FILTER (WHERE rating = 4),
+       COUNT(*) FILTER (WHERE rating = 5)
+FROM reviews
+GROUP BY shop_id;
+
 -- =====================================================
 -- VERIFICATION QUERIES
 -- =====================================================
@@ -0,0 +1,8 @@
+-- =====================================================
+-- MIGRATION: Composite indexes for order history pagination
+-- Backs keyset paging on (created_at, id) for
+-- GET /orders/customer/{id} and GET /orders/shop/{id}
+-- =====================================================
+
+CREATE INDEX IF NOT EXISTS idx_orders_customer_created_id ON orders(customer_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_orders_shop_created_id ON orders(shop_id, created_at DESC, id DESC);
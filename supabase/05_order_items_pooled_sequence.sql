@@ -0,0 +1,8 @@
+-- =====================================================
+-- MIGRATION: Pooled id allocation for order_items
+-- OrderItem uses a pooled sequence generator (allocationSize = 50)
+-- so checkout can insert all items of an order in one JDBC batch.
+-- The sequence increment must match allocationSize.
+-- =====================================================
+
+ALTER SEQUENCE order_items_id_seq INCREMENT BY 50;
@@ -0,0 +1,25 @@
+-- =====================================================
+-- MIGRATION: Incremental shop rating aggregation
+-- Shop rating is now maintained by the backend (ReviewService) with O(1)
+-- deltas on review create/update/delete, instead of a trigger that
+-- recomputed AVG/COUNT on insert only.
+-- =====================================================
+
+-- Running sum of ratings, rating_average = rating_sum / total_reviews
+ALTER TABLE shops ADD COLUMN IF NOT EXISTS rating_sum BIGINT NOT NULL DEFAULT 0;
+
+-- Remove the full-recompute trigger
+DROP TRIGGER IF EXISTS trigger_update_shop_rating ON reviews;
+DROP FUNCTION IF EXISTS update_shop_rating();
+
+-- Backfill from existing reviews
+UPDATE shops s
+SET rating_sum = agg.rating_sum,
+    total_reviews = agg.review_count,
+    rating_average = ROUND(agg.rating_sum::numeric / agg.review_count, 1)
+FROM (
+    SELECT shop_id, SUM(rating) AS rating_sum, COUNT(*) AS review_count
+    FROM reviews
+    GROUP BY shop_id
+) agg
+WHERE s.id = agg.shop_id;
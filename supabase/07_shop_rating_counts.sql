@@ -0,0 +1,32 @@
+-- =====================================================
+-- MIGRATION: Per-shop star histogram
+-- Maintained by the backend together with shops.rating_sum, read by
+-- GET /reviews/shop/{shopId}/summary
+-- =====================================================
+
+CREATE TABLE IF NOT EXISTS shop_rating_counts (
+    shop_id BIGINT PRIMARY KEY,
+    rating_1 INT NOT NULL DEFAULT 0,
+    rating_2 INT NOT NULL DEFAULT 0,
+    rating_3 INT NOT NULL DEFAULT 0,
+    rating_4 INT NOT NULL DEFAULT 0,
+    rating_5 INT NOT NULL DEFAULT 0,
+    FOREIGN KEY (shop_id) REFERENCES shops(id) ON DELETE CASCADE
+);
+
+-- Backfill from existing reviews
+INSERT INTO shop_rating_counts (shop_id, rating_1, rating_2, rating_3, rating_4, rating_5)
+SELECT shop_id,
+       COUNT(*) FILTER (WHERE rating = 1),
+       COUNT(*) FILTER (WHERE rating = 2),
+       COUNT(*) FILTER (WHERE rating = 3),
+       COUNT(*) FILTER (WHERE rating = 4),
+       COUNT(*) FILTER (WHERE rating = 5)
+FROM reviews
+GROUP BY shop_id
+ON CONFLICT (shop_id) DO UPDATE SET
+    rating_1 = EXCLUDED.rating_1,
+    rating_2 = EXCLUDED.rating_2,
+    rating_3 = EXCLUDED.rating_3,
+    rating_4 = EXCLUDED.rating_4,
+    rating_5 = EXCLUDED.rating_5;
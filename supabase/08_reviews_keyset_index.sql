@@ -0,0 +1,6 @@
+-- =====================================================
+-- MIGRATION: Composite index for review pagination
+-- Backs keyset paging on (created_at, id) for GET /reviews/shop/{id}
+-- =====================================================
+
+CREATE INDEX IF NOT EXISTS idx_reviews_shop_created_id ON reviews(shop_id, created_at DESC, id DESC);
@@ -0,0 +1,57 @@
+-- =====================================================
+-- MIGRATION: Monthly range partitioning of activity_logs
+-- One partition per calendar month (UTC) named activity_logs_pYYYYMM.
+-- The backend creates upcoming partitions and drops expired ones
+-- (app.activity-log.retention-months), see ActivityLogPartitionMaintainer.
+-- =====================================================
+
+BEGIN;
+
+ALTER TABLE activity_logs RENAME TO activity_logs_legacy;
+ALTER SEQUENCE activity_logs_id_seq OWNED BY NONE;
+
+CREATE TABLE activity_logs (
+    id BIGINT NOT NULL DEFAULT nextval('activity_logs_id_seq'),
+    user_id BIGINT,
+    action VARCHAR(100) NOT NULL,
+    description TEXT,
+    ip_address VARCHAR(45),
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (id, created_at),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE SET NULL
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE activity_logs_id_seq OWNED BY activity_logs.id;
+
+-- Partitions from the oldest existing row up to three months ahead
+DO $$
+DECLARE
+    -- Month boundaries are computed as UTC wall-clock timestamps
+    month_start TIMESTAMP;
+    last_month TIMESTAMP := date_trunc('month', NOW() AT TIME ZONE 'UTC') + INTERVAL '3 months';
+BEGIN
+    SELECT date_trunc('month', COALESCE(MIN(created_at), NOW()) AT TIME ZONE 'UTC')
+      INTO month_start
+      FROM activity_logs_legacy;
+    WHILE month_start <= last_month LOOP
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS %I PARTITION OF activity_logs FOR VALUES FROM (%L) TO (%L)',
+            'activity_logs_p' || to_char(month_start, 'YYYYMM'),
+            month_start AT TIME ZONE 'UTC', (month_start + INTERVAL '1 month') AT TIME ZONE 'UTC');
+        month_start := month_start + INTERVAL '1 month';
+    END LOOP;
+END $$;
+
+INSERT INTO activity_logs (id, user_id, action, description, ip_address, created_at)
+SELECT id, user_id, action, description, ip_address, COALESCE(created_at, NOW())
+FROM activity_logs_legacy;
+
+DROP TABLE activity_logs_legacy;
+
+-- Per-user timeline (keyset on created_at, id) and per-action lookups, created on every partition
+CREATE INDEX idx_activity_logs_user_created_id ON activity_logs(user_id, created_at DESC, id DESC);
+CREATE INDEX idx_activity_logs_action_created ON activity_logs(action, created_at DESC);
+
+COMMENT ON TABLE activity_logs IS 'Nhật ký hoạt động của người dùng (phân vùng theo tháng)';
+
+COMMIT;
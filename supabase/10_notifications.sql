@@ -0,0 +1,27 @@
+-- =====================================================
+-- MIGRATION: Persisted notifications
+-- Stored in the same transaction as the order/review change that produced
+-- them (order changes via the order_events outbox), then pushed over STOMP
+-- (/api/ws). The backend keeps each user's newest app.notification.backlog-size
+-- and caches them in memory; the unread badge counts the unread rows.
+-- Replaces the earlier notification_counters table.
+-- =====================================================
+
+CREATE TABLE IF NOT EXISTS notifications (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    notification_type VARCHAR(20) NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    message TEXT NOT NULL,
+    reference_id BIGINT,
+    is_read BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_notifications_user ON notifications(user_id, id DESC);
+CREATE INDEX IF NOT EXISTS idx_notifications_user_unread ON notifications(user_id) WHERE is_read = FALSE;
+
+DROP TABLE IF EXISTS notification_counters;
+
+COMMENT ON TABLE notifications IS 'Thông báo gần nhất của từng người dùng';
@@ -0,0 +1,27 @@
+-- =====================================================
+-- MIGRATION: Transactional outbox for order events
+-- OrderService appends a row in the same transaction as every order state
+-- change; OrderOutboxRelay claims unpublished rows with FOR UPDATE SKIP LOCKED,
+-- hands them to listeners and sets published_at. Published rows are purged
+-- after app.order-outbox.retention-hours.
+-- =====================================================
+
+CREATE TABLE IF NOT EXISTS order_events (
+    id BIGSERIAL PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    order_code VARCHAR(50) NOT NULL,
+    customer_id BIGINT NOT NULL,
+    shop_id BIGINT NOT NULL,
+    previous_status VARCHAR(20),
+    order_status VARCHAR(20) NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    attempts INT NOT NULL DEFAULT 0,
+    published_at TIMESTAMPTZ
+);
+
+-- The relay's scan and its per-order ordering check only ever touch unpublished rows
+CREATE INDEX IF NOT EXISTS idx_order_events_unpublished ON order_events(id) WHERE published_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_order_events_order_unpublished ON order_events(order_id, id) WHERE published_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_order_events_published_at ON order_events(published_at) WHERE published_at IS NOT NULL;
+
+COMMENT ON TABLE order_events IS 'Outbox sự kiện đơn hàng, ghi cùng transaction với thay đổi đơn';
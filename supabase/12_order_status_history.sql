@@ -0,0 +1,35 @@
+-- =====================================================
+-- MIGRATION: Order status state machine
+-- orders.version is the optimistic lock column (JPA @Version): every update
+-- bumps it, and an update carrying a stale version matches no row, so racing
+-- status changes fail instead of overwriting each other without row locks.
+-- order_status_history is append-only: one row per status change, written in
+-- the same transaction as the change.
+-- =====================================================
+
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS order_status_history (
+    id BIGSERIAL PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    previous_status order_status_enum,
+    order_status order_status_enum NOT NULL,
+    changed_by BIGINT,
+    note TEXT,
+    changed_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    FOREIGN KEY (order_id) REFERENCES orders(id) ON DELETE CASCADE,
+    FOREIGN KEY (changed_by) REFERENCES users(id) ON DELETE SET NULL
+);
+
+-- An order's timeline is one range scan
+CREATE INDEX IF NOT EXISTS idx_order_status_history_order_id ON order_status_history(order_id, id);
+
+-- Earlier transitions were never recorded: seed each existing order with its current status
+INSERT INTO order_status_history (order_id, previous_status, order_status, changed_by, note, changed_at)
+SELECT o.id, NULL, o.order_status, o.cancelled_by, o.cancel_reason,
+       COALESCE(o.completed_at, o.confirmed_at, o.created_at, NOW())
+FROM orders o
+WHERE NOT EXISTS (SELECT 1 FROM order_status_history h WHERE h.order_id = o.id)
+ORDER BY o.id;
+
+COMMENT ON TABLE order_status_history IS 'Lịch sử trạng thái đơn hàng, chỉ ghi thêm';
@@ -0,0 +1,12 @@
+-- =====================================================
+-- MIGRATION: Shop owner on order events
+-- Order notifications are delivered from the outbox (NotificationEventListener)
+-- and go to the customer and the shop owner, so the event carries the owner.
+-- Rows written before this migration are filled in from shops.
+-- =====================================================
+
+ALTER TABLE order_events ADD COLUMN IF NOT EXISTS shop_owner_id BIGINT;
+
+UPDATE order_events e SET shop_owner_id = s.user_id
+FROM shops s
+WHERE s.id = e.shop_id AND e.shop_owner_id IS NULL;